@@ -0,0 +1,32 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.pgn.FenUtilities;
+
+/**
+ * Curated positions every benchmark runs against, so numbers stay comparable between releases.
+ * Do not edit an existing entry; add a new one instead.
+ */
+public enum BenchmarkPosition {
+
+    OPENING_START("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"),
+    OPENING_RUY_LOPEZ("r1bqkbnr/pppp1ppp/2n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3"),
+    MIDDLEGAME_KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"),
+    MIDDLEGAME_OPEN_CENTER("r1bq1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP3PPP/R2QKB1R w KQ - 0 8"),
+    ENDGAME_ROOK_AND_PAWNS("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"),
+    ENDGAME_QUEEN_VS_ROOK("8/8/3k4/8/2q5/8/4R3/4K3 b - - 0 1");
+
+    private final String fen;
+
+    BenchmarkPosition(final String fen) {
+        this.fen = fen;
+    }
+
+    public String getFen() {
+        return this.fen;
+    }
+
+    public Board createBoard() {
+        return FenUtilities.createGameFromFEN(this.fen);
+    }
+}
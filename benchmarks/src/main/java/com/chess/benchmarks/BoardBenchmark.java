@@ -0,0 +1,46 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.pieces.Piece;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BoardBenchmark {
+
+    @Param
+    public BenchmarkPosition position;
+
+    private List<Piece> pieces;
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        this.board = this.position.createBoard();
+        this.pieces = new ArrayList<>();
+        this.board.getAllPieces().forEach(this.pieces::add);
+    }
+
+    @Benchmark
+    public Board createStandardBoard() {
+        return Board.createStandardBoard();
+    }
+
+    @Benchmark
+    public Board buildFromPieces() {
+        final Board.Builder builder = new Board.Builder();
+        for (final Piece piece : this.pieces) {
+            builder.setPiece(piece);
+        }
+        builder.setMoveMaker(this.board.currentPlayer().getAlliance());
+        return builder.build();
+    }
+}
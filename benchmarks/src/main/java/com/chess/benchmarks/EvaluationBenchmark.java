@@ -0,0 +1,51 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.player.ai.BoardEvaluator;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One static evaluation. A Board remembers its legal moves and game status once asked, so both
+ * boards are built fresh for every invocation; evaluating the same one again would time cache
+ * reads from the second call on, not the evaluation a search pays for at every new position.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EvaluationBenchmark {
+
+    @Param
+    public BenchmarkPosition position;
+
+    private Board board;
+    private SearchBoard searchBoard;
+    private BoardEvaluator evaluator;
+
+    @Setup(Level.Trial)
+    public void setUpEvaluator() {
+        this.evaluator = new StandardBoardEvaluator();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpBoards() {
+        this.board = this.position.createBoard();
+        this.searchBoard = new SearchBoard(this.position.createBoard());
+    }
+
+    @Benchmark
+    public int standardEvaluate() {
+        return this.evaluator.evaluate(this.board, 0);
+    }
+
+    @Benchmark
+    public int standardEvaluateSearchBoard() {
+        return this.evaluator.evaluate(this.searchBoard, 0);
+    }
+}
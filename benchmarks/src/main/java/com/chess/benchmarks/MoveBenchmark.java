@@ -0,0 +1,70 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move.execute and Player.makeMove over every move the side to move has in the position, and
+ * the same moves made and unmade on a SearchBoard.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoveBenchmark {
+
+    @Param
+    public BenchmarkPosition position;
+
+    private Board board;
+    private List<Move> moves;
+    private SearchBoard searchBoard;
+    private int[] packedMoves;
+
+    @Setup
+    public void setUp() {
+        this.board = this.position.createBoard();
+        this.moves = new ArrayList<>(this.board.currentPlayer().getLegalMoves());
+        this.searchBoard = new SearchBoard(this.board);
+        this.packedMoves = new int[this.moves.size()];
+        for (int i = 0; i < this.packedMoves.length; i++) {
+            this.packedMoves[i] = PackedMove.of(this.moves.get(i));
+        }
+    }
+
+    @Benchmark
+    public void execute(final Blackhole blackhole) {
+        for (final Move move : this.moves) {
+            blackhole.consume(move.execute());
+        }
+    }
+
+    @Benchmark
+    public void makeMove(final Blackhole blackhole) {
+        for (final Move move : this.moves) {
+            blackhole.consume(this.board.currentPlayer().makeMove(move));
+        }
+    }
+
+    @Benchmark
+    public long makeUnmake() {
+        long keys = 0;
+        for (final int move : this.packedMoves) {
+            if (this.searchBoard.makeMove(move)) {
+                keys ^= this.searchBoard.getZobristKey();
+                this.searchBoard.unmakeMove();
+            }
+        }
+        return keys;
+    }
+}
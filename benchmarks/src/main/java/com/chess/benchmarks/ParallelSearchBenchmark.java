@@ -0,0 +1,42 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.ParallelAlphaBeta;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixed depth root-parallel search per thread count. Dividing the one thread time by the others
+ * gives the wall clock speedup; nodes stay close to equal because the move found does not change.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelSearchBenchmark {
+
+    @Param({"MIDDLEGAME_OPEN_CENTER"})
+    public BenchmarkPosition position;
+
+    @Param({"3"})
+    public int depth;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        this.board = this.position.createBoard();
+    }
+
+    @Benchmark
+    public Move parallelAlphaBeta() {
+        return new ParallelAlphaBeta(this.depth, this.threads).search(this.board);
+    }
+}
@@ -0,0 +1,50 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Piece.calculateLegalMoves for every piece of one type, both colours, in the position.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PieceMoveGenerationBenchmark {
+
+    @Param
+    public BenchmarkPosition position;
+
+    @Param
+    public PieceType pieceType;
+
+    private Board board;
+    private List<Piece> pieces;
+
+    @Setup
+    public void setUp() {
+        this.board = this.position.createBoard();
+        this.pieces = new ArrayList<>();
+        for (final Piece piece : this.board.getAllPieces()) {
+            if (piece.getPieceType() == this.pieceType) {
+                this.pieces.add(piece);
+            }
+        }
+    }
+
+    @Benchmark
+    public void calculateLegalMoves(final Blackhole blackhole) {
+        for (final Piece piece : this.pieces) {
+            blackhole.consume(piece.calculateLegalMoves(this.board));
+        }
+    }
+}
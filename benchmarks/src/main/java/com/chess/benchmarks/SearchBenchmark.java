@@ -0,0 +1,38 @@
+package com.chess.benchmarks;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.MiniMax;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole fixed depth search, the number closest to what a player of the GUI feels.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param
+    public BenchmarkPosition position;
+
+    @Param({"2", "3"})
+    public int depth;
+
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        this.board = this.position.createBoard();
+    }
+
+    @Benchmark
+    public Move miniMax() {
+        return new MiniMax(this.depth).search(this.board);
+    }
+}
@@ -11,7 +11,7 @@ public enum Alliance {
     WHITE {
         @Override
         public boolean isPawnPromotionSquare(int position) {
-            return BoardUtils.FIFTH_RANK[position];
+            return BoardUtils.EIGHT_RANK[position];
         }
 
         @Override
@@ -42,7 +42,7 @@ public enum Alliance {
     BLACK{
         @Override
         public boolean isPawnPromotionSquare(int position) {
-            return BoardUtils.EIGHT_RANK[position];
+            return BoardUtils.FIRST_RANK[position];
         }
 
         @Override
@@ -0,0 +1,112 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+/**
+ * Bitboard view of a position: one 64 bit mask per piece type and alliance plus the
+ * occupancy masks derived from them. Bit n is set when tile n (0 = a8, 63 = h1) holds
+ * a matching piece, so move generation can work on masks instead of walking tiles.
+ */
+public final class BitBoard {
+
+    public static final long EMPTY = 0L;
+
+    private final long[][] pieceBoards; // [alliance][piece type]
+    private final long whiteOccupancy;
+    private final long blackOccupancy;
+    private final long allOccupancy;
+
+    BitBoard(final Piece[] boardConfig) {
+        this.pieceBoards = new long[Alliance.values().length][PieceType.values().length];
+        long white = EMPTY;
+        long black = EMPTY;
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final Piece piece = boardConfig[i];
+            if (piece != null) {
+                final long mask = squareMask(i);
+                this.pieceBoards[piece.getPieceAlliance().ordinal()][piece.getPieceType().ordinal()] |= mask;
+                if (piece.getPieceAlliance().isWhite()) {
+                    white |= mask;
+                } else {
+                    black |= mask;
+                }
+            }
+        }
+        this.whiteOccupancy = white;
+        this.blackOccupancy = black;
+        this.allOccupancy = white | black;
+    }
+
+    public long getPieces(final Alliance alliance, final PieceType pieceType) {
+        return this.pieceBoards[alliance.ordinal()][pieceType.ordinal()];
+    }
+
+    public long getOccupancy(final Alliance alliance) {
+        return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+    }
+
+    public long getAllOccupancy() {
+        return this.allOccupancy;
+    }
+
+    public long getEmptySquares() {
+        return ~this.allOccupancy;
+    }
+
+    /**
+     * Pieces of the alliance that attack the tile, found by looking outward from the tile with
+     * the attack patterns of BoardUtils rather than by generating anybody's moves.
+     */
+    public long getAttackersOf(final int tileCoordinate, final Alliance byAlliance) {
+        return attackersOf(this.pieceBoards[byAlliance.ordinal()], byAlliance.ordinal(), tileCoordinate, this.allOccupancy);
+    }
+
+    public boolean isSquareAttacked(final int tileCoordinate, final Alliance byAlliance) {
+        return getAttackersOf(tileCoordinate, byAlliance) != EMPTY;
+    }
+
+    /**
+     * attackers holds one mask per piece type of the alliance with the given ordinal. Only pieces
+     * inside occupied count, so callers can take pieces off the board, or look through them.
+     */
+    static long attackersOf(final long[] attackers,
+                            final int allianceOrdinal,
+                            final int tileCoordinate,
+                            final long occupied) {
+        // a pawn of the other side standing on the tile would attack exactly the tiles their pawns attack it from
+        long found = (BoardUtils.PAWN_ATTACKS[1 - allianceOrdinal][tileCoordinate] & attackers[PieceType.PAWN.ordinal()]) |
+                (BoardUtils.KNIGHT_ATTACKS[tileCoordinate] & attackers[PieceType.KNIGHT.ordinal()]) |
+                (BoardUtils.KING_ATTACKS[tileCoordinate] & attackers[PieceType.KING.ordinal()]);
+        final long diagonal = attackers[PieceType.BISHOP.ordinal()] | attackers[PieceType.QUEEN.ordinal()];
+        if (diagonal != EMPTY) {
+            found |= BoardUtils.bishopAttacks(tileCoordinate, occupied) & diagonal;
+        }
+        final long straight = attackers[PieceType.ROOK.ordinal()] | attackers[PieceType.QUEEN.ordinal()];
+        if (straight != EMPTY) {
+            found |= BoardUtils.rookAttacks(tileCoordinate, occupied) & straight;
+        }
+        return found & occupied;
+    }
+
+    public boolean isOccupied(final int coordinate) {
+        return (this.allOccupancy & squareMask(coordinate)) != 0;
+    }
+
+    public boolean isOccupiedBy(final int coordinate, final Alliance alliance) {
+        return (getOccupancy(alliance) & squareMask(coordinate)) != 0;
+    }
+
+    public static long squareMask(final int coordinate) {
+        return 1L << coordinate;
+    }
+
+    public static int firstSquare(final long mask) {
+        return Long.numberOfTrailingZeros(mask);
+    }
+
+    public static long withoutFirstSquare(final long mask) {
+        return mask & (mask - 1);
+    }
+}
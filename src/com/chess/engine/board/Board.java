@@ -11,27 +11,35 @@ import com.google.common.collect.Iterables;
 import java.util.*;
 
 public class Board {
-    private final List<Tile> gameBoard; // implementing board
+    private final Piece[] gameBoard; // piece on every tile, null when empty
+    private final BitBoard bitBoard; // masks used by move generation
     private final Collection<Piece> whitePieces; // implementing pieces
     private final Collection<Piece> blackPieces;
 
     private final WhitePlayer whitePlayer;
     private final BlackPlayer blackPlayer;
     private final Player currentPlayer;
+    private final Alliance nextMoveMaker;
     private final Pawn enPassantPawn;
+    private final int castlingRights;
+    private final long zobristKey; // position identity, see Zobrist
+    private GameStatus gameStatus; // worked out on first use, like the Player fields
 
 
     public Board(Builder builder) { // constructor
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE);
-        this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK);
+        this.gameBoard = Arrays.copyOf(builder.boardConfig, BoardUtils.NUM_TILES);
+        this.bitBoard = new BitBoard(this.gameBoard);
+        this.whitePieces = calculateActivePieces(Alliance.WHITE);
+        this.blackPieces = calculateActivePieces(Alliance.BLACK);
         this.enPassantPawn = builder.enPassantPawn;
-
-        final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
-
-        this.whitePlayer = new WhitePlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardLegalMoves, blackStandardLegalMoves);
+        this.nextMoveMaker = builder.nextMoveMaker;
+        this.castlingRights = Zobrist.calculateCastlingRights(this.gameBoard);
+        this.zobristKey = builder.zobristKey != null ? builder.zobristKey : Zobrist.calculateKey(this);
+        assert this.zobristKey == Zobrist.calculateKey(this) : "Incremental Zobrist key does not match the board";
+
+        // the players work out their moves and checks when first asked, see Player
+        this.whitePlayer = new WhitePlayer(this);
+        this.blackPlayer = new BlackPlayer(this);
         this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
     }
 
@@ -51,7 +59,7 @@ public class Board {
     public String toString() {
         final StringBuilder builder = new StringBuilder();
         for(int i = 0; i < BoardUtils.NUM_TILES; i++){
-            final String tileText =this.gameBoard.get(i).toString();
+            final String tileText = getTile(i).toString();
             builder.append(String.format("%3s",tileText));
             if((i+ 1) % BoardUtils.NUM_TILES_PER_ROW == 0){
                 builder.append("\n");
@@ -77,30 +85,32 @@ public class Board {
     }
 
     public Tile getTile(final int tileCoordinate) {
-        return gameBoard.get(tileCoordinate);
+        return Tile.createTile(tileCoordinate, this.bitBoard.isOccupied(tileCoordinate) ?
+                this.gameBoard[tileCoordinate] : null);
     }
 
-    public Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Alliance alliance) {
-         List<Piece> activePieces = new ArrayList<>(); // making array for active pieces
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
+    }
 
-        for (final Tile tile : gameBoard) { //from 0 to number of active tiles
-            if (tile.isTileOccupied()) {
-                final Piece piece = tile.getPiece(); // place particular piece here
-                if (piece.getPieceAlliance() == alliance) { // if this piece is alliance piece add it
-                    activePieces.add(piece);
-                }
-            }
-        }
-        return ImmutableList.copyOf(activePieces); // return active pieces
+    public boolean isSquareAttacked(final int tileCoordinate, final Alliance byAlliance) {
+        return this.bitBoard.isSquareAttacked(tileCoordinate, byAlliance);
     }
 
-    private static List<Tile> createGameBoard(final Builder builder) { // creating gameboard
-        final Tile[] tiles = new Tile[BoardUtils.NUM_TILES]; // creating array of tiles
+    // mask of the pieces of byAlliance attacking the tile
+    public long getAttackersOf(final int tileCoordinate, final Alliance byAlliance) {
+        return this.bitBoard.getAttackersOf(tileCoordinate, byAlliance);
+    }
 
-        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-            tiles[i] = Tile.createTile(i, builder.boardConfig.get(i)); // counting to 64 and making board
+    private Collection<Piece> calculateActivePieces(final Alliance alliance) {
+        final Piece[] activePieces = new Piece[Long.bitCount(this.bitBoard.getOccupancy(alliance))];
+        long occupied = this.bitBoard.getOccupancy(alliance); // only visit tiles holding this alliance
+        int index = 0;
+        while (occupied != BitBoard.EMPTY) {
+            activePieces[index++] = this.gameBoard[BitBoard.firstSquare(occupied)];
+            occupied = BitBoard.withoutFirstSquare(occupied);
         }
-        return ImmutableList.copyOf(tiles); // return created board
+        return ImmutableList.copyOf(activePieces); // return active pieces
     }
 
     public static Board createStandardBoard() {
@@ -158,31 +168,53 @@ public class Board {
         return this.enPassantPawn;
     }
 
+    public Alliance getNextMoveMaker(){
+        return this.nextMoveMaker;
+    }
+
+    public int getCastlingRights(){
+        return this.castlingRights;
+    }
+
+    public long getZobristKey(){
+        return this.zobristKey;
+    }
+
+    public GameStatus getGameStatus(){
+        GameStatus gameStatus = this.gameStatus;
+        if (gameStatus == null) {
+            gameStatus = GameStatus.of(this.currentPlayer.isInCheck(), this.currentPlayer.hasEscapeMoves());
+            this.gameStatus = gameStatus;
+        }
+        return gameStatus;
+    }
+
     public Iterable<Move> getAllLegalMoves() {
         return Iterables.concat(this.whitePlayer.getLegalMoves(),this.blackPlayer.getLegalMoves());
     }
 
     public Iterable<Piece> getAllPieces() {
-        return blackPieces;
+        return Iterables.concat(this.whitePieces, this.blackPieces);
     }
 
-    public long getPiece(int i) {
-        return i;
+    public Piece getPiece(final int tileCoordinate) {
+        return this.gameBoard[tileCoordinate];
     }
 
 
     public static class Builder {
 
-        Map<Integer, Piece> boardConfig;
+        final Piece[] boardConfig;
         Alliance nextMoveMaker;
         private Pawn enPassantPawn; // CAREEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEEE
+        private Long zobristKey; // null when the key has to be calculated from the pieces
 
         public Builder() {
-            this.boardConfig = new HashMap<>();
+            this.boardConfig = new Piece[BoardUtils.NUM_TILES];
         }
 
         public Builder setPiece(final Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            this.boardConfig[piece.getPiecePosition()] = piece;
             return this;
         }
 
@@ -198,6 +230,11 @@ public class Board {
         public void setEnPassantPawn(Pawn enPassantPawn) {
             this.enPassantPawn = enPassantPawn;
         }
+
+        public Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            return this;
+        }
     }
 }
 
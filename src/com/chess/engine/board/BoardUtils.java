@@ -1,5 +1,6 @@
 package com.chess.engine.board;
 
+import com.chess.engine.pieces.Piece;
 import com.google.common.collect.ImmutableMap;
 
 import java.util.HashMap;
@@ -25,6 +26,26 @@ public class BoardUtils {
     public static final int NUM_TILES = 64;
     public static final int NUM_TILES_PER_ROW = 8;
 
+    // game phase: every knight and bishop counts 1, rook 2, queen 4, so 24 with all pieces on the board
+    public static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0}; // by PieceType ordinal
+    public static final int MAX_PHASE = 24;
+    // a rook and a minor piece each, or less, is an endgame
+    public static final int END_GAME_PHASE = 6;
+
+    // attack patterns per tile as BitBoard masks, for move generation and attack queries
+    public static final long[] KNIGHT_ATTACKS = initLeaperAttacks(new int[][]{
+            {1, 2}, {2, 1}, {2, -1}, {1, -2}, {-1, -2}, {-2, -1}, {-2, 1}, {-1, 2}});
+    public static final long[] KING_ATTACKS = initLeaperAttacks(new int[][]{
+            {1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}});
+    public static final long[][] PAWN_ATTACKS = { // [alliance ordinal][tile], white pawns move towards a8
+            initLeaperAttacks(new int[][]{{-1, -1}, {1, -1}}),
+            initLeaperAttacks(new int[][]{{-1, 1}, {1, 1}})
+    };
+    public static final long[][] PAWN_PUSHES = { // [alliance ordinal][tile], the single step forward
+            initLeaperAttacks(new int[][]{{0, -1}}),
+            initLeaperAttacks(new int[][]{{0, 1}})
+    };
+
     public static final String[] ALGEBRAIC_NOTATION = initializeAlgebraicNotation();
 
     private static String[] initializeAlgebraicNotation() {
@@ -83,6 +104,37 @@ public class BoardUtils {
 
 
 
+    // offsets are {column, row} steps, anything that would leave the board is dropped
+    private static long[] initLeaperAttacks(final int[][] offsets) {
+        final long[] attacks = new long[NUM_TILES];
+        for (int tile = 0; tile < NUM_TILES; tile++) {
+            for (final int[] offset : offsets) {
+                final int column = tile % NUM_TILES_PER_ROW + offset[0];
+                final int row = tile / NUM_TILES_PER_ROW + offset[1];
+                if (column >= 0 && column < NUM_TILES_PER_ROW && row >= 0 && row < NUM_TILES_PER_ROW) {
+                    attacks[tile] |= BitBoard.squareMask(row * NUM_TILES_PER_ROW + column);
+                }
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Tiles a bishop on tile attacks: every diagonal up to and including the first occupied tile.
+     * One table lookup whatever the occupancy, see MagicAttacks.
+     */
+    public static long bishopAttacks(final int tile, final long occupied) {
+        return MagicAttacks.bishopAttacks(tile, occupied);
+    }
+
+    public static long rookAttacks(final int tile, final long occupied) {
+        return MagicAttacks.rookAttacks(tile, occupied);
+    }
+
+    public static long queenAttacks(final int tile, final long occupied) {
+        return bishopAttacks(tile, occupied) | rookAttacks(tile, occupied);
+    }
+
     public static boolean isValidTitleCoordinate(final int coordinate){ //checking if you are in range of board
         return (coordinate >= 0 && coordinate < NUM_TILES);
     }
@@ -95,8 +147,17 @@ public class BoardUtils {
         return ALGEBRAIC_NOTATION[destinationCoordinate];
     }
 
-    public static boolean isEndGame(Board board) {
-        return false;
+    // from MAX_PHASE at the start down to 0 with only kings and pawns; promotions never push it past MAX_PHASE
+    public static int gamePhase(final Board board) {
+        int phase = 0;
+        for (final Piece piece : board.getAllPieces()) {
+            phase += PHASE_WEIGHTS[piece.getPieceType().ordinal()];
+        }
+        return Math.min(phase, MAX_PHASE);
+    }
+
+    public static boolean isEndGame(final Board board) {
+        return gamePhase(board) <= END_GAME_PHASE;
     }
 
     public static boolean isThreatenedBoardImmediate(Board board) {
@@ -0,0 +1,45 @@
+package com.chess.engine.board;
+
+/**
+ * State of the game for the side to move. Board.getGameStatus works it out once per board, and
+ * SearchBoard.getGameStatus once per position on its move stack, so search, evaluation and the
+ * GUI all read the same answer instead of generating the legal moves again.
+ */
+public enum GameStatus {
+
+    IN_PLAY(false, false),
+    CHECK(true, false),
+    CHECKMATE(true, true),
+    STALEMATE(false, true);
+
+    private final boolean isCheck;
+    private final boolean isGameOver;
+
+    GameStatus(final boolean isCheck,
+               final boolean isGameOver) {
+        this.isCheck = isCheck;
+        this.isGameOver = isGameOver;
+    }
+
+    public static GameStatus of(final boolean isInCheck,
+                                final boolean hasLegalMove) {
+        if (hasLegalMove) {
+            return isInCheck ? CHECK : IN_PLAY;
+        }
+        return isInCheck ? CHECKMATE : STALEMATE;
+    }
+
+    // the side to move is in check, mated or not
+    public boolean isCheck() {
+        return this.isCheck;
+    }
+
+    public boolean isGameOver() {
+        return this.isGameOver;
+    }
+
+    // drawn by the position itself; repetition and the fifty move rule would be added here
+    public boolean isDraw() {
+        return this == STALEMATE;
+    }
+}
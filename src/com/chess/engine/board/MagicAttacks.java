@@ -0,0 +1,221 @@
+package com.chess.engine.board;
+
+/**
+ * Sliding attacks by magic bitboards. For every tile the pieces that could block a bishop or a
+ * rook (its relevant occupancy, the rays without the board edge) are multiplied by a magic number
+ * so that every distinct blocker set lands on its own index in a table of precomputed attacks:
+ *
+ *   attacks = TABLE[offset[tile] + ((occupied & mask[tile]) * magic[tile]) >>> shift[tile]]
+ *
+ * The magics below were found by main, which tries sparse random numbers from a fixed seed; the
+ * tables are filled when the class loads by walking the rays once per blocker set.
+ */
+final class MagicAttacks {
+
+    private static final int[][] DIAGONAL_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] STRAIGHT_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private static final long[] BISHOP_MAGICS = {
+            0x10102002004A1420L, 0x8020040400584008L, 0x10510800811201C8L, 0x5204042080000088L,
+            0x2204106880000002L, 0x1401042004000000L, 0x0400880410042004L, 0x0028208200A02020L,
+            0x1500241990010E00L, 0x8001200182020A40L, 0x40004101030B0000L, 0x8002041042000100L,
+            0x4010011041020038L, 0x0000010421044000L, 0x1500210808020A00L, 0x8000088400880520L,
+            0x0405004010040100L, 0x1005823210040108L, 0x2708008102040011L, 0x4048200404009100L,
+            0x0018104101400024L, 0x0003000601190101L, 0x8004803108491000L, 0x8014241200820800L,
+            0x0006E080100C3040L, 0x0501044A11041800L, 0x9020300008004045L, 0x0894080000220040L,
+            0x1001010083104000L, 0x5004030040900080L, 0x000400422C012400L, 0x0002128698404812L,
+            0x1010108404900440L, 0x0928021182084100L, 0x2006080409020024L, 0x1010202020180080L,
+            0xA010008200202200L, 0x2098015100019004L, 0x0002041440810811L, 0x802A02020000B098L,
+            0x0009015090004060L, 0x4000821082081001L, 0x0100210040420800L, 0x0800004010488A00L,
+            0x2000081104004040L, 0x4C8E029015000082L, 0x0420340322224842L, 0x1298260043400210L,
+            0x0000822802400008L, 0x00008A0101600000L, 0x3040003412080021L, 0x3040290220884800L,
+            0x4A1500401041004AL, 0x8010200282020781L, 0x0020203142209091L, 0x0070300600902110L,
+            0x0040808800B62048L, 0x0000810400C44420L, 0x00080400440C0441L, 0x8340080020840411L,
+            0x0000000104208200L, 0x0000800810D00080L, 0x0400530411080200L, 0x4040702400932244L
+    };
+    private static final long[] ROOK_MAGICS = {
+            0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L, 0x0880100008000480L,
+            0x4200100420080200L, 0x8100020100080400L, 0x0200040110886200L, 0x0200008040220411L,
+            0x0404800084400220L, 0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+            0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L, 0x0442000102105084L,
+            0x9080010020804100L, 0x0040404000201009L, 0x0000808010002009L, 0x2200090021D00100L,
+            0x0008008008040080L, 0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+            0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L, 0x1000100080080080L,
+            0x0442000A00049020L, 0x2100040080020080L, 0x0800120400900148L, 0x0010040A00128541L,
+            0x2800804000800030L, 0x1010002000400041L, 0x4000200011004100L, 0x0610008410800800L,
+            0x0400802402800800L, 0xC100020080800400L, 0x0002000802000401L, 0x0182085882000401L,
+            0x0220204000808000L, 0x2860100040024022L, 0x0001002004110040L, 0x99101042000A0020L,
+            0x0004080004008080L, 0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+            0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L, 0x0801100280080480L,
+            0x0242009008200600L, 0x1002000489500200L, 0x0040800200010080L, 0x0091800041000080L,
+            0x0000209300488001L, 0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+            0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L, 0x4000002840840112L
+    };
+
+    private static final Slider BISHOP = new Slider(DIAGONAL_DIRECTIONS, BISHOP_MAGICS);
+    private static final Slider ROOK = new Slider(STRAIGHT_DIRECTIONS, ROOK_MAGICS);
+
+    private MagicAttacks() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    static long bishopAttacks(final int tile, final long occupied) {
+        return BISHOP.attacks(tile, occupied);
+    }
+
+    static long rookAttacks(final int tile, final long occupied) {
+        return ROOK.attacks(tile, occupied);
+    }
+
+    // one kind of slider: the per tile masks, magics and shifts, and all attack sets in one array
+    private static final class Slider {
+
+        private final long[] masks = new long[BoardUtils.NUM_TILES];
+        private final long[] magics = new long[BoardUtils.NUM_TILES];
+        private final int[] shifts = new int[BoardUtils.NUM_TILES];
+        private final int[] offsets = new int[BoardUtils.NUM_TILES];
+        private final long[] attackTable;
+
+        Slider(final int[][] directions, final long[] magics) {
+            int tableSize = 0;
+            for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                this.masks[tile] = relevantOccupancy(tile, directions);
+                this.shifts[tile] = Long.SIZE - Long.bitCount(this.masks[tile]);
+                this.offsets[tile] = tableSize;
+                tableSize += 1 << Long.bitCount(this.masks[tile]);
+            }
+            this.attackTable = new long[tableSize];
+            if (magics == null) {
+                final Random random = new Random(SEED);
+                for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                    this.magics[tile] = findMagic(tile, directions, random);
+                }
+            } else {
+                for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                    this.magics[tile] = magics[tile];
+                    if (!fill(tile, directions, magics[tile], new int[1 << Long.bitCount(this.masks[tile])], 1)) {
+                        throw new RuntimeException("Magic number does not fit tile " + tile);
+                    }
+                }
+            }
+        }
+
+        long attacks(final int tile, final long occupied) {
+            return this.attackTable[this.offsets[tile] +
+                    (int) (((occupied & this.masks[tile]) * this.magics[tile]) >>> this.shifts[tile])];
+        }
+
+        // tries sparse random numbers until one maps every blocker set of the tile without a harmful clash
+        private long findMagic(final int tile,
+                               final int[][] directions,
+                               final Random random) {
+            final long mask = this.masks[tile];
+            final int[] filledBy = new int[1 << Long.bitCount(mask)];
+            for (int attempt = 1; ; attempt++) {
+                final long magic = random.nextLong() & random.nextLong() & random.nextLong();
+                if (Long.bitCount((mask * magic) & 0xFF00000000000000L) >= 6 && // enough bits reach the index
+                        fill(tile, directions, magic, filledBy, attempt)) {
+                    return magic;
+                }
+            }
+        }
+
+        /**
+         * Writes the attacks of every blocker set of the tile to its magic index. Returns false when
+         * two sets with different attacks meet at one index; indices not written in this attempt,
+         * as told by filledBy, count as free. Entries left behind by a failed attempt are never read.
+         */
+        private boolean fill(final int tile,
+                             final int[][] directions,
+                             final long magic,
+                             final int[] filledBy,
+                             final int attempt) {
+            final long mask = this.masks[tile];
+            final long[] table = this.attackTable;
+            final int offset = this.offsets[tile];
+            long subset = 0L;
+            do { // every subset of the mask, by the carry-rippler trick
+                final int index = (int) ((subset * magic) >>> this.shifts[tile]);
+                final long attacks = rayAttacks(tile, subset, directions);
+                if (filledBy[index] != attempt) {
+                    filledBy[index] = attempt;
+                    table[offset + index] = attacks;
+                } else if (table[offset + index] != attacks) {
+                    return false;
+                }
+                subset = (subset - mask) & mask;
+            } while (subset != 0L);
+            return true;
+        }
+    }
+
+    // the rays of the tile without their last tile, a piece there never blocks anything
+    private static long relevantOccupancy(final int tile, final int[][] directions) {
+        long mask = BitBoard.EMPTY;
+        for (final int[] direction : directions) {
+            int column = tile % BoardUtils.NUM_TILES_PER_ROW + direction[0];
+            int row = tile / BoardUtils.NUM_TILES_PER_ROW + direction[1];
+            while (isOnBoard(column + direction[0], row + direction[1])) {
+                mask |= BitBoard.squareMask(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                column += direction[0];
+                row += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    // the slow reference: every ray up to and including the first occupied tile
+    private static long rayAttacks(final int tile,
+                                   final long occupied,
+                                   final int[][] directions) {
+        long attacks = BitBoard.EMPTY;
+        for (final int[] direction : directions) {
+            int column = tile % BoardUtils.NUM_TILES_PER_ROW + direction[0];
+            int row = tile / BoardUtils.NUM_TILES_PER_ROW + direction[1];
+            while (isOnBoard(column, row)) {
+                final long mask = BitBoard.squareMask(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                attacks |= mask;
+                if ((occupied & mask) != 0) {
+                    break;
+                }
+                column += direction[0];
+                row += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isOnBoard(final int column, final int row) {
+        return column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW && row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+    // prints magics for the constants above, in case the masks or tile numbering ever change
+    public static void main(final String[] args) {
+        for (final Slider slider : new Slider[]{new Slider(DIAGONAL_DIRECTIONS, null), new Slider(STRAIGHT_DIRECTIONS, null)}) {
+            final StringBuilder builder = new StringBuilder();
+            for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                builder.append(String.format("0x%016XL,", slider.magics[tile])).append(tile % 4 == 3 ? "\n" : " ");
+            }
+            System.out.println(builder);
+        }
+    }
+
+    // xorshift64*, so the tables do not depend on the java.util.Random implementation
+    private static final class Random {
+
+        private long state;
+
+        Random(final long seed) {
+            this.state = seed;
+        }
+
+        long nextLong() {
+            this.state ^= this.state >>> 12;
+            this.state ^= this.state << 25;
+            this.state ^= this.state >>> 27;
+            return this.state * 0x2545F4914F6CDD1DL;
+        }
+    }
+}
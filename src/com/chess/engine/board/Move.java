@@ -38,43 +38,61 @@ public abstract class Move { //implementing class move to tell what every piece
     public static class PawnPromotion extends Move{
         final Move decoratedMove;
         final Pawn promotedPawn;
+        final Piece promotionPiece;
         public PawnPromotion(final Move decoratedMove) {
+            this(decoratedMove, ((Pawn) decoratedMove.getMovedPiece()).getPromotionPiece());
+        }
+
+        public PawnPromotion(final Move decoratedMove, final Piece promotionPiece) {
             super(decoratedMove.getBoard(), decoratedMove.getMovedPiece(),decoratedMove.getDestinationCoordinate());
             this.decoratedMove = decoratedMove;
             this.promotedPawn = (Pawn) decoratedMove.getMovedPiece();
+            this.promotionPiece = promotionPiece;
         }
 
         @Override
         public Board execute(){
-            final Board pawnMovedBoard = this.decoratedMove.execute();
             final Board.Builder builder = new Builder();
-            for(final Piece piece : pawnMovedBoard.currentPlayer().getActivePieces()){
+            for(final Piece piece : this.board.currentPlayer().getActivePieces()){
                 if(!this.promotedPawn.equals(piece)){
                     builder.setPiece(piece);
                 }
             }
-            for(final Piece piece : pawnMovedBoard.currentPlayer().getActivePieces()){
+            for(final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()){
                 builder.setPiece(piece);
             }
-            builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
-            builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
+            builder.setPiece(this.promotionPiece.movePiece(this)); // replaces a captured piece on the destination
+            builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setZobristKey(calculateZobristKey());
             return builder.build();
         }
 
+        @Override
+        protected long calculateZobristKey() {
+            return super.calculateZobristKey() ^
+                    Zobrist.pieceKey(this.promotedPawn.getPieceAlliance(), this.promotedPawn.getPieceType(), this.destinationCoordinate) ^
+                    Zobrist.pieceKey(this.promotionPiece.getPieceAlliance(), this.promotionPiece.getPieceType(), this.destinationCoordinate);
+        }
+
+        public Piece getPromotionPiece(){
+            return this.promotionPiece;
+        }
+
         @Override
         public Piece getAttackedPiece(){
             return this.decoratedMove.getAttackedPiece();
         }
         public String toString(){
-            return "";
+            return this.decoratedMove.toString() + "=" + this.promotionPiece.getPieceType();
         }
         @Override
         public int hashCode(){
-            return decoratedMove.hashCode() + (31 * promotedPawn.hashCode());
+            return decoratedMove.hashCode() + (31 * promotedPawn.hashCode()) + this.promotionPiece.getPieceType().hashCode();
         }
         @Override
         public boolean equals(final Object other){
-            return this == other || other instanceof PawnPromotion && (super.equals(other));
+            return this == other || other instanceof PawnPromotion && (super.equals(other)) &&
+                    this.promotionPiece.getPieceType() == ((PawnPromotion) other).getPromotionPiece().getPieceType();
         }
     }
 
@@ -94,10 +112,27 @@ public abstract class Move { //implementing class move to tell what every piece
         }
         builder.setPiece(this.movedPiece.movePiece(this));
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+        builder.setZobristKey(calculateZobristKey());
 
         return builder.build();
     }
 
+    // key of the board after this move: XOR out what leaves the board and XOR in what arrives
+    protected long calculateZobristKey() {
+        final int currentCoordinate = getCurrentCoordinate();
+        final int castlingRights = this.board.getCastlingRights();
+        final int nextCastlingRights = Zobrist.castlingRightsAfter(castlingRights, currentCoordinate, this.destinationCoordinate);
+        long key = this.board.getZobristKey() ^ Zobrist.blackToMoveKey();
+        key ^= Zobrist.pieceKey(this.movedPiece.getPieceAlliance(), this.movedPiece.getPieceType(), currentCoordinate);
+        key ^= Zobrist.pieceKey(this.movedPiece.getPieceAlliance(), this.movedPiece.getPieceType(), this.destinationCoordinate);
+        final Piece attackedPiece = getAttackedPiece();
+        if (attackedPiece != null) {
+            key ^= Zobrist.pieceKey(attackedPiece); // en passant takes the pawn off its own tile, not the destination
+        }
+        key ^= Zobrist.castlingKey(castlingRights) ^ Zobrist.castlingKey(nextCastlingRights);
+        return key ^ Zobrist.enPassantKey(this.board.getEnPassantPawn());
+    }
+
     @Override
     public String toString(){
         return BoardUtils.getPositionAtCoordinate(this.destinationCoordinate);
@@ -197,23 +232,6 @@ public abstract class Move { //implementing class move to tell what every piece
         public String toString(){
             return BoardUtils.getPositionAtCoordinate(this.destinationCoordinate);
         }
-
-        @Override
-        public Board execute() {
-
-            final Builder builder = new Builder();
-
-            for(final Piece piece : this.board.currentPlayer().getOpponent().getActivePieces()){
-                builder.setPiece(piece);
-            }
-            final Pawn movedPawn = (Pawn) this.movedPiece.movePiece(this);
-            builder.setPiece(movedPawn);
-            builder.setEnPassantPawn(movedPawn);
-            builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
-            return builder.build();
-
-
-        }
     }
 
     public static class PawnAttackMove extends AttackMove{
@@ -260,6 +278,7 @@ public abstract class Move { //implementing class move to tell what every piece
             }
             builder.setPiece(this.movedPiece.movePiece(this));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setZobristKey(calculateZobristKey());
             return builder.build();
         }
     }
@@ -270,6 +289,11 @@ public abstract class Move { //implementing class move to tell what every piece
             super(board, movedPiece,destinationCoordinate);
         }
 
+        @Override
+        protected long calculateZobristKey() {
+            return super.calculateZobristKey() ^ Zobrist.enPassantKey(this.destinationCoordinate); // the jumped pawn can be taken
+        }
+
         @Override
         public Board execute(){
             final Builder builder = new Builder();
@@ -285,6 +309,7 @@ public abstract class Move { //implementing class move to tell what every piece
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setZobristKey(calculateZobristKey());
             return builder.build();
 
         }
@@ -308,6 +333,13 @@ public abstract class Move { //implementing class move to tell what every piece
         public Rook getCastleRook(){
             return this.castleRook;
         }
+
+        @Override
+        protected long calculateZobristKey() {
+            return super.calculateZobristKey() ^
+                    Zobrist.pieceKey(this.castleRook.getPieceAlliance(), this.castleRook.getPieceType(), this.castleRookStart) ^
+                    Zobrist.pieceKey(this.castleRook.getPieceAlliance(), this.castleRook.getPieceType(), this.castleRookDestination);
+        }
         @Override
         public boolean isCastlingMove(){
             return true;
@@ -326,8 +358,9 @@ public abstract class Move { //implementing class move to tell what every piece
                 builder.setPiece(piece);
             }
             builder.setPiece(this.movedPiece.movePiece(this));
-            builder.setPiece(new Rook(this.castleRook.getPieceAlliance(),this.castleRookDestination));
+            builder.setPiece(new Rook(this.castleRook.getPieceAlliance(),this.castleRookDestination, false));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+            builder.setZobristKey(calculateZobristKey());
             return builder.build();
         }
 
@@ -360,7 +393,7 @@ public abstract class Move { //implementing class move to tell what every piece
         }
         @Override
         public String toString() {
-            return "0-0";
+            return "0-0-0";
         }
 
         @Override
@@ -379,7 +412,7 @@ public abstract class Move { //implementing class move to tell what every piece
         }
         @Override
         public String toString() {
-            return "0-0-0";
+            return "0-0";
         }
     }
 
@@ -0,0 +1,165 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece.PieceType;
+
+/**
+ * Moves packed into an int, for generators and searches that cannot afford a Move object per
+ * node. Move objects are only made from these at the GUI and MoveLog boundary, see toMove.
+ *
+ *   0-5   from tile
+ *   6-11  to tile
+ *  12-15  kind, see the constants below
+ *  16-18  type of the moving piece, PieceType ordinal
+ *  19-21  type of the captured piece, only meaningful for captures
+ *
+ * The low 16 bits alone tell the moves of one position apart (see core), so tables that keep a
+ * move per position, such as the TranspositionTable, store only those.
+ * 0 is never a real move (a8 to a8) and stands for "no move".
+ */
+public final class PackedMove {
+
+    public static final int NONE = 0;
+
+    public static final int QUIET = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int KING_SIDE_CASTLE = 2;
+    public static final int QUEEN_SIDE_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT = 5;
+    public static final int PROMOTION = 8; // + 0 knight, 1 bishop, 2 rook, 3 queen
+    public static final int PROMOTION_CAPTURE = 12;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final PieceType[] PROMOTION_TYPES = {
+            PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN
+    };
+
+    private PackedMove() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    // a move without its piece fields, enough to play it on a SearchBoard
+    public static int create(final int from,
+                             final int to,
+                             final int kind) {
+        return from | (to << 6) | (kind << 12);
+    }
+
+    public static int create(final int from,
+                             final int to,
+                             final int kind,
+                             final int movedPieceType,
+                             final int capturedPieceType) {
+        return from | (to << 6) | (kind << 12) | (movedPieceType << 16) | (capturedPieceType << 19);
+    }
+
+    // from, to and kind, which identify a move among the moves of its position
+    public static int core(final int move) {
+        return move & 0xFFFF;
+    }
+
+    public static int from(final int move) {
+        return move & 63;
+    }
+
+    public static int to(final int move) {
+        return (move >>> 6) & 63;
+    }
+
+    public static int kind(final int move) {
+        return (move >>> 12) & 15;
+    }
+
+    public static PieceType movedPiece(final int move) {
+        return PIECE_TYPES[(move >>> 16) & 7];
+    }
+
+    // only meaningful for captures; en passant captures a pawn
+    public static PieceType capturedPiece(final int move) {
+        return PIECE_TYPES[(move >>> 19) & 7];
+    }
+
+    public static boolean isCapture(final int move) {
+        return (kind(move) & CAPTURE) != 0;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return (kind(move) & PROMOTION) != 0;
+    }
+
+    public static boolean isCastle(final int move) {
+        final int kind = kind(move);
+        return kind == KING_SIDE_CASTLE || kind == QUEEN_SIDE_CASTLE;
+    }
+
+    // only meaningful for promotions
+    public static PieceType promotionType(final int move) {
+        return PROMOTION_TYPES[kind(move) & 3];
+    }
+
+    static int promotionKind(final PieceType pieceType, final boolean isCapture) {
+        final int base = isCapture ? PROMOTION_CAPTURE : PROMOTION;
+        switch (pieceType) {
+            case KNIGHT:
+                return base;
+            case BISHOP:
+                return base + 1;
+            case ROOK:
+                return base + 2;
+            case QUEEN:
+                return base + 3;
+            default:
+                throw new IllegalArgumentException("Cannot promote to " + pieceType);
+        }
+    }
+
+    /**
+     * Packs a Move of the immutable Board. Move.NULL_MOVE and null pack to NONE.
+     */
+    public static int of(final Move move) {
+        if (move == null || move == Move.NULL_MOVE) {
+            return NONE;
+        }
+        final int from = move.getCurrentCoordinate();
+        final int to = move.getDestinationCoordinate();
+        final boolean isCapture = move.getAttackedPiece() != null;
+        final int moved = move.getMovedPiece().getPieceType().ordinal();
+        final int captured = isCapture ? move.getAttackedPiece().getPieceType().ordinal() : 0;
+        final int kind;
+        if (move instanceof Move.PawnPromotion) {
+            kind = promotionKind(((Move.PawnPromotion) move).getPromotionPiece().getPieceType(), isCapture);
+        } else if (move instanceof Move.KingSideCastleMove) {
+            kind = KING_SIDE_CASTLE;
+        } else if (move instanceof Move.QueenSideCastleMove) {
+            kind = QUEEN_SIDE_CASTLE;
+        } else if (move instanceof Move.PawnEnPassantAttackMove) {
+            kind = EN_PASSANT;
+        } else if (move instanceof Move.PawnJump) {
+            kind = DOUBLE_PAWN_PUSH;
+        } else {
+            kind = isCapture ? CAPTURE : QUIET;
+        }
+        return create(from, to, kind, moved, captured);
+    }
+
+    /**
+     * The Move of the board's side to move that packs to the given int, or Move.NULL_MOVE. Only
+     * the core is compared, so moves read back from a TranspositionTable work too.
+     */
+    public static Move toMove(final Board board, final int move) {
+        if (move != NONE) {
+            for (final Move candidate : board.currentPlayer().getLegalMoves()) {
+                if (core(of(candidate)) == core(move)) {
+                    return candidate;
+                }
+            }
+        }
+        return Move.NULL_MOVE;
+    }
+
+    // coordinate notation such as e2e4 or e7e8q
+    public static String toString(final int move) {
+        final String text = BoardUtils.getPositionAtCoordinate(from(move)) + BoardUtils.getPositionAtCoordinate(to(move));
+        return isPromotion(move) ? text + promotionType(move).toString().toLowerCase() : text;
+    }
+}
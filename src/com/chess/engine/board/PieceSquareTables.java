@@ -0,0 +1,151 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+/**
+ * Positional bonus of a piece by the tile it stands on, in centipawns, once for the middlegame
+ * and once for the endgame. Evaluators blend the two by BoardUtils.gamePhase. The tables are
+ * drawn as white sees the board, a8 first, so they index directly by tile for white; black
+ * reads the tile mirrored top to bottom. Only pawns and the king change their preferences in
+ * the endgame: pawns are worth more the further they got, and the king leaves its shelter for
+ * the centre. SearchBoard keeps the sums for each side up to date move by move, so an evaluator
+ * reads them instead of visiting the pieces.
+ */
+public final class PieceSquareTables {
+
+    private static final int[] PAWN = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+            50,  50,  50,  50,  50,  50,  50,  50,
+            10,  10,  20,  30,  30,  20,  10,  10,
+             5,   5,  10,  25,  25,  10,   5,   5,
+             0,   0,   0,  20,  20,   0,   0,   0,
+             5,  -5, -10,   0,   0, -10,  -5,   5,
+             5,  10,  10, -20, -20,  10,  10,   5,
+             0,   0,   0,   0,   0,   0,   0,   0
+    };
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20,   0,   0,   0,   0, -20, -40,
+            -30,   0,  10,  15,  15,  10,   0, -30,
+            -30,   5,  15,  20,  20,  15,   5, -30,
+            -30,   0,  15,  20,  20,  15,   0, -30,
+            -30,   5,  10,  15,  15,  10,   5, -30,
+            -40, -20,   0,   5,   5,   0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,  10,  10,   5,   0, -10,
+            -10,   5,   5,  10,  10,   5,   5, -10,
+            -10,   0,  10,  10,  10,  10,   0, -10,
+            -10,  10,  10,  10,  10,  10,  10, -10,
+            -10,   5,   0,   0,   0,   0,   5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+    private static final int[] ROOK = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+             5,  10,  10,  10,  10,  10,  10,   5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+            -5,   0,   0,   0,   0,   0,   0,  -5,
+             0,   0,   0,   5,   5,   0,   0,   0
+    };
+    private static final int[] QUEEN = {
+            -20, -10, -10,  -5,  -5, -10, -10, -20,
+            -10,   0,   0,   0,   0,   0,   0, -10,
+            -10,   0,   5,   5,   5,   5,   0, -10,
+             -5,   0,   5,   5,   5,   5,   0,  -5,
+              0,   0,   5,   5,   5,   5,   0,  -5,
+            -10,   5,   5,   5,   5,   5,   0, -10,
+            -10,   0,   5,   0,   0,   0,   0, -10,
+            -20, -10, -10,  -5,  -5, -10, -10, -20
+    };
+    private static final int[] KING_MIDDLEGAME = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+             20,  20,   0,   0,   0,   0,  20,  20,
+             20,  30,  10,   0,   0,  10,  30,  20
+    };
+    private static final int[] PAWN_ENDGAME = {
+             0,   0,   0,   0,   0,   0,   0,   0,
+            80,  80,  80,  80,  80,  80,  80,  80,
+            50,  50,  50,  50,  50,  50,  50,  50,
+            30,  30,  30,  30,  30,  30,  30,  30,
+            20,  20,  20,  20,  20,  20,  20,  20,
+            10,  10,  10,  10,  10,  10,  10,  10,
+            10,  10,  10,  10,  10,  10,  10,  10,
+             0,   0,   0,   0,   0,   0,   0,   0
+    };
+    private static final int[] KING_ENDGAME = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10,   0,   0, -10, -20, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  30,  40,  40,  30, -10, -30,
+            -30, -10,  20,  30,  30,  20, -10, -30,
+            -30, -30,   0,   0,   0,   0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private static final int NUM_PIECES = Alliance.values().length * PieceType.values().length;
+
+    // [(alliance * 6 + piece type) * 64 + tile], both colours in one flat array so a lookup is one index
+    private static final int[] MIDDLEGAME_SCORES = initScores(PAWN, KNIGHT, BISHOP, ROOK, QUEEN, KING_MIDDLEGAME);
+    private static final int[] ENDGAME_SCORES = initScores(PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME);
+
+    private PieceSquareTables() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    public static int middlegameScore(final Alliance alliance,
+                                      final PieceType pieceType,
+                                      final int tile) {
+        return MIDDLEGAME_SCORES[index(alliance.ordinal() * PieceType.values().length + pieceType.ordinal(), tile)];
+    }
+
+    public static int endgameScore(final Alliance alliance,
+                                   final PieceType pieceType,
+                                   final int tile) {
+        return ENDGAME_SCORES[index(alliance.ordinal() * PieceType.values().length + pieceType.ordinal(), tile)];
+    }
+
+    // piece as in SearchBoard's mailbox, alliance * 6 + piece type
+    static int middlegameScore(final int piece,
+                               final int tile) {
+        return MIDDLEGAME_SCORES[index(piece, tile)];
+    }
+
+    static int endgameScore(final int piece,
+                            final int tile) {
+        return ENDGAME_SCORES[index(piece, tile)];
+    }
+
+    private static int index(final int piece,
+                             final int tile) {
+        return piece * BoardUtils.NUM_TILES + tile;
+    }
+
+    private static int[] initScores(final int[]... whiteTables) {
+        final int[] scores = new int[NUM_PIECES * BoardUtils.NUM_TILES];
+        for (int pieceType = 0; pieceType < whiteTables.length; pieceType++) {
+            for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                scores[index(pieceType, tile)] = whiteTables[pieceType][tile];
+                scores[index(whiteTables.length + pieceType, tile)] = whiteTables[pieceType][mirror(tile)];
+            }
+        }
+        return scores;
+    }
+
+    // the same tile seen from the other side of the board, a8 <-> a1
+    private static int mirror(final int tile) {
+        return tile ^ (BoardUtils.NUM_TILES - BoardUtils.NUM_TILES_PER_ROW);
+    }
+}
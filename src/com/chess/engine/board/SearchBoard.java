@@ -0,0 +1,804 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Bishop;
+import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Knight;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.pieces.Queen;
+import com.chess.engine.pieces.Rook;
+
+import java.util.Arrays;
+
+/**
+ * Mutable position for search. makeMove and unmakeMove change the bitboards, the mailbox and
+ * the Zobrist key in place and keep what cannot be recomputed (captured piece, castling rights,
+ * en passant tile, key) on a compact undo stack, so walking the tree allocates nothing. Material,
+ * piece-square sums and the game phase are adjusted along with the pieces, for evaluation without
+ * a piece walk.
+ *
+ * Moves are PackedMove ints and generation writes them into a caller supplied int[]. The
+ * generated moves are the same as Player.getLegalMoves of the equivalent Board: pseudo legal,
+ * plus the castles that do not cross an attacked tile. makeMove refuses moves that leave the own
+ * king attacked. generateLegalMoves emits only the moves that pass, using pin and check masks,
+ * and makeLegalMove plays them without the test. The immutable Board stays the API for everything outside the search; use
+ * SearchBoard(Board) to start a search and toBoard to get back.
+ *
+ * Not thread safe, every search thread needs its own.
+ */
+public final class SearchBoard {
+
+    public static final int MAX_MOVES = 256; // more than any position has pseudo legal moves
+
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+    private static final int PAWN = PieceType.PAWN.ordinal();
+    private static final int KNIGHT = PieceType.KNIGHT.ordinal();
+    private static final int BISHOP = PieceType.BISHOP.ordinal();
+    private static final int ROOK = PieceType.ROOK.ordinal();
+    private static final int QUEEN = PieceType.QUEEN.ordinal();
+    private static final int KING = PieceType.KING.ordinal();
+    private static final int NUM_PIECE_TYPES = PieceType.values().length;
+
+    private static final int NO_PIECE = -1;
+    private static final int NO_SQUARE = -1;
+    private static final int[] PIECE_VALUES = new int[NUM_PIECE_TYPES];
+    private static final int MAX_EXCHANGE = 32; // captures on one tile, never more than all pieces
+
+    private static final long[][] BETWEEN = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES]; // tiles strictly between two aligned tiles
+    private static final long[][] LINE = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES]; // whole line through two aligned tiles
+
+    static {
+        for (final PieceType pieceType : PieceType.values()) {
+            PIECE_VALUES[pieceType.ordinal()] = pieceType.getPieceValue();
+        }
+        initLines();
+    }
+
+    private final long[][] pieces = new long[2][NUM_PIECE_TYPES]; // [alliance][piece type]
+    private final long[] occupancy = new long[2];
+    private final int[] mailbox = new int[BoardUtils.NUM_TILES]; // alliance * 6 + piece type, or NO_PIECE
+    private final int[] material = new int[2]; // [alliance], kept up to date by putPiece and removePiece
+    private final int[] middlegameScores = new int[2]; // piece-square sums
+    private final int[] endgameScores = new int[2];
+    private int phase; // BoardUtils.PHASE_WEIGHTS of the pieces on the board, not capped
+    private int sideToMove;
+    private int castlingRights; // Zobrist.WHITE_KING_SIDE etc.
+    private int enPassantSquare; // tile a pawn just jumped over, or NO_SQUARE
+    private long zobristKey;
+    private long pawnKey; // Zobrist keys of the pawns alone, for pawn structure caches
+
+    // undo stack, one entry per made move: packed move and state in one int, the key in a long
+    private int[] undoStates = new int[64];
+    private long[] undoKeys = new long[64];
+    private int ply;
+    private GameStatus[] gameStatuses = new GameStatus[64]; // per ply, null until asked for
+
+    private final int[] scratchMoves = new int[MAX_MOVES];
+    private final int[] exchangeGains = new int[MAX_EXCHANGE];
+
+    public SearchBoard(final Board board) {
+        Arrays.fill(this.mailbox, NO_PIECE);
+        for (final Piece piece : board.getAllPieces()) {
+            putPiece(piece.getPieceAlliance().ordinal(), piece.getPieceType().ordinal(), piece.getPiecePosition());
+        }
+        this.sideToMove = board.currentPlayer().getAlliance().ordinal();
+        this.castlingRights = board.getCastlingRights();
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        this.enPassantSquare = enPassantPawn == null ? NO_SQUARE :
+                enPassantPawn.getPiecePosition() - enPassantPawn.getPieceAlliance().getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        this.zobristKey = board.getZobristKey();
+        this.ply = 0;
+    }
+
+    public Alliance getSideToMove() {
+        return this.sideToMove == WHITE ? Alliance.WHITE : Alliance.BLACK;
+    }
+
+    public long getPieces(final Alliance alliance, final PieceType pieceType) {
+        return this.pieces[alliance.ordinal()][pieceType.ordinal()];
+    }
+
+    public long getOccupancy(final Alliance alliance) {
+        return this.occupancy[alliance.ordinal()];
+    }
+
+    public long getAllOccupancy() {
+        return this.occupancy[WHITE] | this.occupancy[BLACK];
+    }
+
+    // the summed piece values of the alliance, king included
+    public int getMaterial(final Alliance alliance) {
+        return this.material[alliance.ordinal()];
+    }
+
+    // the summed PieceSquareTables middlegame bonuses of the alliance's pieces
+    public int getMiddlegameScore(final Alliance alliance) {
+        return this.middlegameScores[alliance.ordinal()];
+    }
+
+    public int getEndgameScore(final Alliance alliance) {
+        return this.endgameScores[alliance.ordinal()];
+    }
+
+    // as BoardUtils.gamePhase
+    public int getGamePhase() {
+        return Math.min(this.phase, BoardUtils.MAX_PHASE);
+    }
+
+    public boolean isEndGame() {
+        return this.phase <= BoardUtils.END_GAME_PHASE;
+    }
+
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    public long getPawnKey() {
+        return this.pawnKey;
+    }
+
+    // number of moves made and not yet unmade
+    public int getPly() {
+        return this.ply;
+    }
+
+    public boolean isInCheck() {
+        return isKingAttacked(this.sideToMove);
+    }
+
+    public boolean isInCheck(final Alliance alliance) {
+        return isKingAttacked(alliance.ordinal());
+    }
+
+    public boolean isSquareAttacked(final int square, final Alliance byAlliance) {
+        return isSquareAttacked(square, byAlliance.ordinal());
+    }
+
+    /**
+     * Writes the moves of the side to move into moves from index start on and returns the index
+     * after the last one.
+     */
+    public int generateMoves(final int[] moves, final int start) {
+        return generateMoves(this.sideToMove, moves, start);
+    }
+
+    /**
+     * Writes only the strictly legal moves of the side to move, see generateLegalMoves(Alliance, ...).
+     */
+    public int generateLegalMoves(final int[] moves, final int start) {
+        return generateLegalMoves(this.sideToMove, moves, start);
+    }
+
+    /**
+     * Writes the moves of the alliance that do not leave its own king attacked and returns the
+     * index after the last one. Pinned pieces, the tiles that answer a check and the tiles the
+     * king may step to are worked out once for the position, so no move is tried out; only en
+     * passant, which takes two pawns off one rank at once, is checked against the resulting
+     * occupancy. Moves made from this list can use makeLegalMove.
+     */
+    public int generateLegalMoves(final Alliance alliance, final int[] moves, final int start) {
+        return generateLegalMoves(alliance.ordinal(), moves, start);
+    }
+
+    /**
+     * Counts the moves the alliance would have if it were its turn, castles included. En passant
+     * only counts for the side to move, as with Player.getLegalMoves of the Board.
+     */
+    public int countMoves(final Alliance alliance) {
+        return generateMoves(alliance.ordinal(), this.scratchMoves, 0);
+    }
+
+    /**
+     * True when the side to move has a move that does not leave its king attacked, i.e. when it
+     * is neither checkmated nor stalemated.
+     */
+    public boolean hasLegalMove() {
+        return generateLegalMoves(this.sideToMove, this.scratchMoves, 0) > 0;
+    }
+
+    /**
+     * Status of the side to move, worked out at most once per position: making a move forgets
+     * the entry of the new ply, unmaking one returns to a ply whose entry is still right.
+     */
+    public GameStatus getGameStatus() {
+        if (this.ply >= this.gameStatuses.length) {
+            this.gameStatuses = Arrays.copyOf(this.gameStatuses, 2 * this.ply);
+        }
+        GameStatus gameStatus = this.gameStatuses[this.ply];
+        if (gameStatus == null) {
+            gameStatus = GameStatus.of(isInCheck(), hasLegalMove());
+            this.gameStatuses[this.ply] = gameStatus;
+        }
+        return gameStatus;
+    }
+
+    /**
+     * Static exchange evaluation: the material the side to move comes out with when it plays the
+     * capture or promotion and both sides then keep recapturing on the target tile with their
+     * least valuable attacker, each stopping as soon as going on would lose more. Pieces behind
+     * a capturer join in as it leaves (x-rays). Nothing is played; pins and checks are ignored.
+     */
+    public int staticExchange(final int move) {
+        final int from = PackedMove.from(move);
+        final int to = PackedMove.to(move);
+        final int[] gains = this.exchangeGains;
+        long occupied = this.occupancy[WHITE] | this.occupancy[BLACK];
+        int attackerValue = PIECE_VALUES[this.mailbox[from] % NUM_PIECE_TYPES];
+        gains[0] = PackedMove.isCapture(move) ? PIECE_VALUES[PackedMove.capturedPiece(move).ordinal()] : 0;
+        if (PackedMove.isPromotion(move)) {
+            attackerValue = PIECE_VALUES[PackedMove.promotionType(move).ordinal()];
+            gains[0] += attackerValue - PIECE_VALUES[PAWN];
+        } else if (PackedMove.kind(move) == PackedMove.EN_PASSANT) {
+            occupied &= ~BitBoard.squareMask(to - pawnDirection(this.sideToMove) * BoardUtils.NUM_TILES_PER_ROW);
+        }
+        long attackerMask = BitBoard.squareMask(from);
+        int side = this.sideToMove;
+        int depth = 0;
+        while (depth < MAX_EXCHANGE - 1) {
+            depth++;
+            gains[depth] = attackerValue - gains[depth - 1]; // if the piece just moved in is taken
+            occupied &= ~attackerMask;
+            side = 1 - side;
+            final long attackers = attackersOf(to, side, occupied);
+            if (attackers == 0) {
+                break;
+            }
+            for (int pieceType = PAWN; pieceType <= KING; pieceType++) {
+                final long candidates = attackers & this.pieces[side][pieceType];
+                if (candidates != 0) {
+                    attackerMask = candidates & -candidates;
+                    attackerValue = PIECE_VALUES[pieceType];
+                    break;
+                }
+            }
+        }
+        while (--depth > 0) {
+            gains[depth - 1] = -Math.max(-gains[depth - 1], gains[depth]);
+        }
+        return gains[0];
+    }
+
+    /**
+     * Plays a generated move. Returns false and leaves the position unchanged when the move would
+     * leave the mover's king attacked.
+     */
+    public boolean makeMove(final int move) {
+        final int us = this.sideToMove;
+        makeLegalMove(move);
+        if (isKingAttacked(us)) {
+            unmakeMove();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Plays a move from generateLegalMoves without checking it again.
+     */
+    public void makeLegalMove(final int move) {
+        final int from = PackedMove.from(move);
+        final int to = PackedMove.to(move);
+        final int kind = PackedMove.kind(move);
+        final int us = this.sideToMove;
+        final int piece = this.mailbox[from];
+
+        int capturedSquare = to;
+        if (kind == PackedMove.EN_PASSANT) {
+            capturedSquare = to - pawnDirection(us) * BoardUtils.NUM_TILES_PER_ROW;
+        }
+        final int captured = PackedMove.isCapture(move) ? this.mailbox[capturedSquare] : NO_PIECE;
+        pushUndo(move, captured);
+
+        if (this.enPassantSquare != NO_SQUARE) {
+            this.zobristKey ^= Zobrist.enPassantKey(this.enPassantSquare);
+            this.enPassantSquare = NO_SQUARE;
+        }
+        if (captured != NO_PIECE) {
+            removePiece(capturedSquare);
+        }
+        removePiece(from);
+        if (PackedMove.isPromotion(move)) {
+            putPiece(us, PackedMove.promotionType(move).ordinal(), to);
+        } else {
+            putPiece(us, piece % NUM_PIECE_TYPES, to);
+        }
+        if (kind == PackedMove.KING_SIDE_CASTLE) {
+            removePiece(to + 1);
+            putPiece(us, ROOK, to - 1);
+        } else if (kind == PackedMove.QUEEN_SIDE_CASTLE) {
+            removePiece(to - 2);
+            putPiece(us, ROOK, to + 1);
+        } else if (kind == PackedMove.DOUBLE_PAWN_PUSH) {
+            this.enPassantSquare = (from + to) / 2;
+            this.zobristKey ^= Zobrist.enPassantKey(this.enPassantSquare);
+        }
+        final int castlingRights = Zobrist.castlingRightsAfter(this.castlingRights, from, to);
+        if (castlingRights != this.castlingRights) {
+            this.zobristKey ^= Zobrist.castlingKey(this.castlingRights) ^ Zobrist.castlingKey(castlingRights);
+            this.castlingRights = castlingRights;
+        }
+        this.sideToMove = 1 - us;
+        this.zobristKey ^= Zobrist.blackToMoveKey();
+    }
+
+    /**
+     * Passes the turn without moving, for null move pruning; unmakeMove takes it back. The side
+     * to move must not be in check.
+     */
+    public void makeNullMove() {
+        pushUndo(PackedMove.NONE, NO_PIECE);
+        if (this.enPassantSquare != NO_SQUARE) {
+            this.zobristKey ^= Zobrist.enPassantKey(this.enPassantSquare);
+            this.enPassantSquare = NO_SQUARE;
+        }
+        this.sideToMove = 1 - this.sideToMove;
+        this.zobristKey ^= Zobrist.blackToMoveKey();
+    }
+
+    public void unmakeMove() {
+        this.ply--;
+        final int state = this.undoStates[this.ply];
+        final int move = state & 0xFFFF;
+        if (move == PackedMove.NONE) {
+            this.sideToMove = 1 - this.sideToMove;
+            this.enPassantSquare = ((state >>> 24) & 127) - 1;
+            this.zobristKey = this.undoKeys[this.ply];
+            return;
+        }
+        final int captured = ((state >>> 16) & 15) - 1;
+        final int from = PackedMove.from(move);
+        final int to = PackedMove.to(move);
+        final int kind = PackedMove.kind(move);
+        final int us = 1 - this.sideToMove;
+
+        this.sideToMove = us;
+        final int moved = PackedMove.isPromotion(move) ? PAWN : this.mailbox[to] % NUM_PIECE_TYPES;
+        removePiece(to);
+        putPiece(us, moved, from);
+        if (kind == PackedMove.KING_SIDE_CASTLE) {
+            removePiece(to - 1);
+            putPiece(us, ROOK, to + 1);
+        } else if (kind == PackedMove.QUEEN_SIDE_CASTLE) {
+            removePiece(to + 1);
+            putPiece(us, ROOK, to - 2);
+        }
+        if (captured != NO_PIECE) {
+            final int capturedSquare = kind == PackedMove.EN_PASSANT ?
+                    to - pawnDirection(us) * BoardUtils.NUM_TILES_PER_ROW : to;
+            putPiece(captured / NUM_PIECE_TYPES, captured % NUM_PIECE_TYPES, capturedSquare);
+        }
+        this.castlingRights = (state >>> 20) & 15;
+        this.enPassantSquare = ((state >>> 24) & 127) - 1;
+        this.zobristKey = this.undoKeys[this.ply];
+    }
+
+    /**
+     * Builds the equivalent immutable Board. Kings and rooks that still have castling rights are
+     * created unmoved, so the Board derives the same rights and Zobrist key.
+     */
+    public Board toBoard() {
+        final Board.Builder builder = new Board.Builder();
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            final int piece = this.mailbox[square];
+            if (piece != NO_PIECE) {
+                builder.setPiece(createPiece(piece / NUM_PIECE_TYPES, piece % NUM_PIECE_TYPES, square));
+            }
+        }
+        if (this.enPassantSquare != NO_SQUARE) {
+            final int pawnSquare = this.enPassantSquare + pawnDirection(1 - this.sideToMove) * BoardUtils.NUM_TILES_PER_ROW;
+            final Pawn enPassantPawn = new Pawn(alliance(1 - this.sideToMove), pawnSquare, false);
+            builder.setPiece(enPassantPawn);
+            builder.setEnPassantPawn(enPassantPawn);
+        }
+        builder.setMoveMaker(getSideToMove());
+        return builder.build();
+    }
+
+    private Piece createPiece(final int allianceIndex,
+                              final int pieceTypeIndex,
+                              final int square) {
+        final Alliance alliance = alliance(allianceIndex);
+        final int rights = this.castlingRights;
+        switch (PieceType.values()[pieceTypeIndex]) {
+            case PAWN:
+                return new Pawn(alliance, square, false);
+            case KNIGHT:
+                return new Knight(alliance, square, false);
+            case BISHOP:
+                return new Bishop(alliance, square, false);
+            case ROOK:
+                final boolean castleRook =
+                        (square == 63 && (rights & Zobrist.WHITE_KING_SIDE) != 0) ||
+                        (square == 56 && (rights & Zobrist.WHITE_QUEEN_SIDE) != 0) ||
+                        (square == 7 && (rights & Zobrist.BLACK_KING_SIDE) != 0) ||
+                        (square == 0 && (rights & Zobrist.BLACK_QUEEN_SIDE) != 0);
+                return new Rook(alliance, square, castleRook);
+            case QUEEN:
+                return new Queen(alliance, square, false);
+            default:
+                final int kingRights = alliance.isWhite() ?
+                        Zobrist.WHITE_KING_SIDE | Zobrist.WHITE_QUEEN_SIDE :
+                        Zobrist.BLACK_KING_SIDE | Zobrist.BLACK_QUEEN_SIDE;
+                return new King(alliance, square, (rights & kingRights) != 0);
+        }
+    }
+
+    private int generateLegalMoves(final int us,
+                                   final int[] moves,
+                                   final int start) {
+        final int them = 1 - us;
+        final long own = this.occupancy[us];
+        final long enemy = this.occupancy[them];
+        final long all = own | enemy;
+        final long king = this.pieces[us][KING];
+        if (king == 0) {
+            return generateMoves(us, moves, start); // no king to protect
+        }
+        final int kingSquare = Long.numberOfTrailingZeros(king);
+        int count = start;
+
+        final long checkers = attackersOf(kingSquare, them, all);
+        if (Long.bitCount(checkers) > 1) {
+            return generateLegalKingMoves(us, kingSquare, moves, count); // double check, only the king can move
+        }
+        // a single check is answered by taking the checker or standing in its way
+        final long evasionMask = checkers == 0 ? -1L : checkers | BETWEEN[kingSquare][Long.numberOfTrailingZeros(checkers)];
+        final long pinned = pinnedPieces(us, kingSquare, all);
+
+        count = generateLegalPawnMoves(us, kingSquare, evasionMask, pinned, moves, count);
+        for (long knights = this.pieces[us][KNIGHT] & ~pinned; knights != 0; knights &= knights - 1) {
+            final int from = Long.numberOfTrailingZeros(knights);
+            count = addMoves(from, BoardUtils.KNIGHT_ATTACKS[from] & ~own & evasionMask, enemy, moves, count);
+        }
+        for (long bishops = this.pieces[us][BISHOP] | this.pieces[us][QUEEN]; bishops != 0; bishops &= bishops - 1) {
+            final int from = Long.numberOfTrailingZeros(bishops);
+            final long destinations = BoardUtils.bishopAttacks(from, all) & ~own & evasionMask;
+            count = addMoves(from, pinMask(from, kingSquare, pinned) & destinations, enemy, moves, count);
+        }
+        for (long rooks = this.pieces[us][ROOK] | this.pieces[us][QUEEN]; rooks != 0; rooks &= rooks - 1) {
+            final int from = Long.numberOfTrailingZeros(rooks);
+            final long destinations = BoardUtils.rookAttacks(from, all) & ~own & evasionMask;
+            count = addMoves(from, pinMask(from, kingSquare, pinned) & destinations, enemy, moves, count);
+        }
+        count = generateLegalKingMoves(us, kingSquare, moves, count);
+        if (checkers == 0) {
+            count = generateCastles(us, kingSquare, all, moves, count);
+        }
+        return count;
+    }
+
+    private int generateLegalKingMoves(final int us,
+                                       final int kingSquare,
+                                       final int[] moves,
+                                       int count) {
+        final long enemy = this.occupancy[1 - us];
+        // the king may not step along the line of a slider checking it, so look through the king itself
+        final long withoutKing = (this.occupancy[us] | enemy) & ~BitBoard.squareMask(kingSquare);
+        for (long targets = BoardUtils.KING_ATTACKS[kingSquare] & ~this.occupancy[us]; targets != 0; targets &= targets - 1) {
+            final int to = Long.numberOfTrailingZeros(targets);
+            if (attackersOf(to, 1 - us, withoutKing) == 0) {
+                moves[count++] = encode(kingSquare, to, (enemy & BitBoard.squareMask(to)) != 0 ?
+                        PackedMove.CAPTURE : PackedMove.QUIET);
+            }
+        }
+        return count;
+    }
+
+    private int generateLegalPawnMoves(final int us,
+                                       final int kingSquare,
+                                       final long evasionMask,
+                                       final long pinned,
+                                       final int[] moves,
+                                       int count) {
+        final long enemy = this.occupancy[1 - us];
+        final long all = this.occupancy[us] | enemy;
+        final int forward = pawnDirection(us) * BoardUtils.NUM_TILES_PER_ROW;
+        for (long pawns = this.pieces[us][PAWN]; pawns != 0; pawns &= pawns - 1) {
+            final int from = Long.numberOfTrailingZeros(pawns);
+            final long allowed = evasionMask & pinMask(from, kingSquare, pinned);
+            final int to = from + forward;
+            if ((all & BitBoard.squareMask(to)) == 0) {
+                if ((allowed & BitBoard.squareMask(to)) != 0) {
+                    if (isPromotionSquare(to)) {
+                        count = addPromotions(from, to, false, moves, count);
+                    } else {
+                        moves[count++] = encode(from, to, PackedMove.QUIET);
+                    }
+                }
+                final int jumpTo = to + forward;
+                if (isPawnStartSquare(us, from) && (all & BitBoard.squareMask(jumpTo)) == 0 &&
+                        (allowed & BitBoard.squareMask(jumpTo)) != 0) {
+                    moves[count++] = encode(from, jumpTo, PackedMove.DOUBLE_PAWN_PUSH);
+                }
+            }
+            final long attacks = BoardUtils.PAWN_ATTACKS[us][from];
+            for (long captures = attacks & enemy & allowed; captures != 0; captures &= captures - 1) {
+                final int target = Long.numberOfTrailingZeros(captures);
+                if (isPromotionSquare(target)) {
+                    count = addPromotions(from, target, true, moves, count);
+                } else {
+                    moves[count++] = encode(from, target, PackedMove.CAPTURE);
+                }
+            }
+            if (us == this.sideToMove && this.enPassantSquare != NO_SQUARE &&
+                    (attacks & BitBoard.squareMask(this.enPassantSquare)) != 0 &&
+                    isLegalEnPassant(us, kingSquare, from)) {
+                moves[count++] = encode(from, this.enPassantSquare, PackedMove.EN_PASSANT);
+            }
+        }
+        return count;
+    }
+
+    // both pawns leave their tiles at once, which can uncover the king along the rank they shared
+    private boolean isLegalEnPassant(final int us,
+                                     final int kingSquare,
+                                     final int from) {
+        final int capturedSquare = this.enPassantSquare - pawnDirection(us) * BoardUtils.NUM_TILES_PER_ROW;
+        final long captured = BitBoard.squareMask(capturedSquare);
+        final long occupiedAfter = ((this.occupancy[WHITE] | this.occupancy[BLACK]) &
+                ~BitBoard.squareMask(from) & ~captured) | BitBoard.squareMask(this.enPassantSquare);
+        return (attackersOf(kingSquare, 1 - us, occupiedAfter) & ~captured) == 0;
+    }
+
+    // own pieces standing alone between the king and an enemy slider aimed at it
+    private long pinnedPieces(final int us,
+                              final int kingSquare,
+                              final long all) {
+        final long[] enemies = this.pieces[1 - us];
+        final long snipers =
+                (BoardUtils.bishopAttacks(kingSquare, 0L) & (enemies[BISHOP] | enemies[QUEEN])) |
+                (BoardUtils.rookAttacks(kingSquare, 0L) & (enemies[ROOK] | enemies[QUEEN]));
+        long pinned = 0L;
+        for (long remaining = snipers; remaining != 0; remaining &= remaining - 1) {
+            final long blockers = BETWEEN[kingSquare][Long.numberOfTrailingZeros(remaining)] & all;
+            if (Long.bitCount(blockers) == 1) {
+                pinned |= blockers & this.occupancy[us];
+            }
+        }
+        return pinned;
+    }
+
+    // a pinned piece may only move along the line through its king and the pinner
+    private static long pinMask(final int square,
+                                final int kingSquare,
+                                final long pinned) {
+        return (pinned & BitBoard.squareMask(square)) == 0 ? -1L : LINE[kingSquare][square];
+    }
+
+    private int generateMoves(final int us,
+                              final int[] moves,
+                              final int start) {
+        final int them = 1 - us;
+        final long own = this.occupancy[us];
+        final long enemy = this.occupancy[them];
+        final long all = own | enemy;
+        int count = start;
+
+        count = generatePawnMoves(us, moves, count, all, enemy);
+        for (long knights = this.pieces[us][KNIGHT]; knights != 0; knights &= knights - 1) {
+            final int from = Long.numberOfTrailingZeros(knights);
+            count = addMoves(from, BoardUtils.KNIGHT_ATTACKS[from] & ~own, enemy, moves, count);
+        }
+        for (long bishops = this.pieces[us][BISHOP] | this.pieces[us][QUEEN]; bishops != 0; bishops &= bishops - 1) {
+            final int from = Long.numberOfTrailingZeros(bishops);
+            count = addMoves(from, BoardUtils.bishopAttacks(from, all) & ~own, enemy, moves, count);
+        }
+        for (long rooks = this.pieces[us][ROOK] | this.pieces[us][QUEEN]; rooks != 0; rooks &= rooks - 1) {
+            final int from = Long.numberOfTrailingZeros(rooks);
+            count = addMoves(from, BoardUtils.rookAttacks(from, all) & ~own, enemy, moves, count);
+        }
+        final long king = this.pieces[us][KING];
+        if (king != 0) {
+            final int from = Long.numberOfTrailingZeros(king);
+            count = addMoves(from, BoardUtils.KING_ATTACKS[from] & ~own, enemy, moves, count);
+            count = generateCastles(us, from, all, moves, count);
+        }
+        return count;
+    }
+
+    private int generatePawnMoves(final int us,
+                                  final int[] moves,
+                                  int count,
+                                  final long all,
+                                  final long enemy) {
+        final int forward = pawnDirection(us) * BoardUtils.NUM_TILES_PER_ROW;
+        for (long pawns = this.pieces[us][PAWN]; pawns != 0; pawns &= pawns - 1) {
+            final int from = Long.numberOfTrailingZeros(pawns);
+            final int to = from + forward;
+            if ((all & BitBoard.squareMask(to)) == 0) {
+                if (isPromotionSquare(to)) {
+                    count = addPromotions(from, to, false, moves, count);
+                } else {
+                    moves[count++] = encode(from, to, PackedMove.QUIET);
+                    final int jumpTo = to + forward;
+                    if (isPawnStartSquare(us, from) && (all & BitBoard.squareMask(jumpTo)) == 0) {
+                        moves[count++] = encode(from, jumpTo, PackedMove.DOUBLE_PAWN_PUSH);
+                    }
+                }
+            }
+            final long attacks = BoardUtils.PAWN_ATTACKS[us][from];
+            for (long captures = attacks & enemy; captures != 0; captures &= captures - 1) {
+                final int target = Long.numberOfTrailingZeros(captures);
+                if (isPromotionSquare(target)) {
+                    count = addPromotions(from, target, true, moves, count);
+                } else {
+                    moves[count++] = encode(from, target, PackedMove.CAPTURE);
+                }
+            }
+            if (us == this.sideToMove && this.enPassantSquare != NO_SQUARE &&
+                    (attacks & BitBoard.squareMask(this.enPassantSquare)) != 0) {
+                moves[count++] = encode(from, this.enPassantSquare, PackedMove.EN_PASSANT);
+            }
+        }
+        return count;
+    }
+
+    private int addPromotions(final int from,
+                              final int to,
+                              final boolean isCapture,
+                              final int[] moves,
+                              int count) {
+        moves[count++] = encode(from, to, PackedMove.promotionKind(PieceType.QUEEN, isCapture));
+        moves[count++] = encode(from, to, PackedMove.promotionKind(PieceType.ROOK, isCapture));
+        moves[count++] = encode(from, to, PackedMove.promotionKind(PieceType.BISHOP, isCapture));
+        moves[count++] = encode(from, to, PackedMove.promotionKind(PieceType.KNIGHT, isCapture));
+        return count;
+    }
+
+    private int addMoves(final int from,
+                         final long destinations,
+                         final long enemy,
+                         final int[] moves,
+                         int count) {
+        for (long targets = destinations; targets != 0; targets &= targets - 1) {
+            final int to = Long.numberOfTrailingZeros(targets);
+            moves[count++] = encode(from, to, (enemy & BitBoard.squareMask(to)) != 0 ?
+                    PackedMove.CAPTURE : PackedMove.QUIET);
+        }
+        return count;
+    }
+
+    // same conditions as WhitePlayer and BlackPlayer.calculateKingCastles
+    private int generateCastles(final int us,
+                                final int kingSquare,
+                                final long all,
+                                final int[] moves,
+                                int count) {
+        final int kingSide = us == WHITE ? Zobrist.WHITE_KING_SIDE : Zobrist.BLACK_KING_SIDE;
+        final int queenSide = us == WHITE ? Zobrist.WHITE_QUEEN_SIDE : Zobrist.BLACK_QUEEN_SIDE;
+        if ((this.castlingRights & (kingSide | queenSide)) == 0 || isSquareAttacked(kingSquare, 1 - us)) {
+            return count;
+        }
+        final int them = 1 - us;
+        if ((this.castlingRights & kingSide) != 0 &&
+                (all & (BitBoard.squareMask(kingSquare + 1) | BitBoard.squareMask(kingSquare + 2))) == 0 &&
+                !isSquareAttacked(kingSquare + 1, them) && !isSquareAttacked(kingSquare + 2, them)) {
+            moves[count++] = encode(kingSquare, kingSquare + 2, PackedMove.KING_SIDE_CASTLE);
+        }
+        if ((this.castlingRights & queenSide) != 0 &&
+                (all & (BitBoard.squareMask(kingSquare - 1) | BitBoard.squareMask(kingSquare - 2) |
+                        BitBoard.squareMask(kingSquare - 3))) == 0 &&
+                !isSquareAttacked(kingSquare - 1, them) && !isSquareAttacked(kingSquare - 2, them)) {
+            moves[count++] = encode(kingSquare, kingSquare - 2, PackedMove.QUEEN_SIDE_CASTLE);
+        }
+        return count;
+    }
+
+    // the move with the types of the moving and the captured piece filled in
+    private int encode(final int from,
+                       final int to,
+                       final int kind) {
+        final int captured = (kind & PackedMove.CAPTURE) == 0 ? 0 :
+                kind == PackedMove.EN_PASSANT ? PAWN : this.mailbox[to] % NUM_PIECE_TYPES;
+        return PackedMove.create(from, to, kind, this.mailbox[from] % NUM_PIECE_TYPES, captured);
+    }
+
+    private boolean isKingAttacked(final int alliance) {
+        final long king = this.pieces[alliance][KING];
+        return king != 0 && isSquareAttacked(Long.numberOfTrailingZeros(king), 1 - alliance);
+    }
+
+    private boolean isSquareAttacked(final int square, final int by) {
+        return attackersOf(square, by, this.occupancy[WHITE] | this.occupancy[BLACK]) != 0;
+    }
+
+    // pieces of alliance by attacking square when the board is occupied as given
+    private long attackersOf(final int square,
+                             final int by,
+                             final long occupied) {
+        return BitBoard.attackersOf(this.pieces[by], by, square, occupied);
+    }
+
+    private void pushUndo(final int move, final int captured) {
+        if (this.ply == this.undoStates.length) {
+            this.undoStates = Arrays.copyOf(this.undoStates, 2 * this.ply);
+            this.undoKeys = Arrays.copyOf(this.undoKeys, 2 * this.ply);
+        }
+        this.undoStates[this.ply] = PackedMove.core(move) | ((captured + 1) << 16) | (this.castlingRights << 20) |
+                ((this.enPassantSquare + 1) << 24);
+        this.undoKeys[this.ply] = this.zobristKey;
+        this.ply++;
+        if (this.ply < this.gameStatuses.length) {
+            this.gameStatuses[this.ply] = null;
+        }
+    }
+
+    private void putPiece(final int alliance,
+                          final int pieceType,
+                          final int square) {
+        final long mask = BitBoard.squareMask(square);
+        this.pieces[alliance][pieceType] |= mask;
+        this.occupancy[alliance] |= mask;
+        this.mailbox[square] = alliance * NUM_PIECE_TYPES + pieceType;
+        this.material[alliance] += PIECE_VALUES[pieceType];
+        this.middlegameScores[alliance] += PieceSquareTables.middlegameScore(this.mailbox[square], square);
+        this.endgameScores[alliance] += PieceSquareTables.endgameScore(this.mailbox[square], square);
+        this.phase += BoardUtils.PHASE_WEIGHTS[pieceType];
+        final long key = Zobrist.pieceKey(alliance, pieceType, square);
+        this.zobristKey ^= key;
+        if (pieceType == PAWN) {
+            this.pawnKey ^= key;
+        }
+    }
+
+    private void removePiece(final int square) {
+        final int piece = this.mailbox[square];
+        final int alliance = piece / NUM_PIECE_TYPES;
+        final int pieceType = piece % NUM_PIECE_TYPES;
+        final long mask = BitBoard.squareMask(square);
+        this.pieces[alliance][pieceType] &= ~mask;
+        this.occupancy[alliance] &= ~mask;
+        this.mailbox[square] = NO_PIECE;
+        this.material[alliance] -= PIECE_VALUES[pieceType];
+        this.middlegameScores[alliance] -= PieceSquareTables.middlegameScore(piece, square);
+        this.endgameScores[alliance] -= PieceSquareTables.endgameScore(piece, square);
+        this.phase -= BoardUtils.PHASE_WEIGHTS[pieceType];
+        final long key = Zobrist.pieceKey(alliance, pieceType, square);
+        this.zobristKey ^= key;
+        if (pieceType == PAWN) {
+            this.pawnKey ^= key;
+        }
+    }
+
+    private static int pawnDirection(final int alliance) {
+        return alliance == WHITE ? -1 : 1;
+    }
+
+    private static boolean isPromotionSquare(final int square) {
+        return square < BoardUtils.NUM_TILES_PER_ROW || square >= BoardUtils.NUM_TILES - BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+    private static boolean isPawnStartSquare(final int alliance, final int square) {
+        return alliance == WHITE ? BoardUtils.SECOND_RANK[square] : BoardUtils.SEVENTH_RANK[square];
+    }
+
+    private static Alliance alliance(final int allianceIndex) {
+        return allianceIndex == WHITE ? Alliance.WHITE : Alliance.BLACK;
+    }
+
+    // for every pair of tiles on one line: the tiles between them and the whole line through both
+    private static void initLines() {
+        for (int a = 0; a < BoardUtils.NUM_TILES; a++) {
+            for (int b = 0; b < BoardUtils.NUM_TILES; b++) {
+                final long ends = BitBoard.squareMask(a) | BitBoard.squareMask(b);
+                if (a == b) {
+                    continue;
+                }
+                if ((BoardUtils.bishopAttacks(a, 0L) & BitBoard.squareMask(b)) != 0) {
+                    BETWEEN[a][b] = BoardUtils.bishopAttacks(a, ends) & BoardUtils.bishopAttacks(b, ends);
+                    LINE[a][b] = (BoardUtils.bishopAttacks(a, 0L) & BoardUtils.bishopAttacks(b, 0L)) | ends;
+                } else if ((BoardUtils.rookAttacks(a, 0L) & BitBoard.squareMask(b)) != 0) {
+                    BETWEEN[a][b] = BoardUtils.rookAttacks(a, ends) & BoardUtils.rookAttacks(b, ends);
+                    LINE[a][b] = (BoardUtils.rookAttacks(a, 0L) & BoardUtils.rookAttacks(b, 0L)) | ends;
+                }
+            }
+        }
+    }
+}
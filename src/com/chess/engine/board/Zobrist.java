@@ -0,0 +1,139 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 64 bit Zobrist position keys. A key is the XOR of one random number per piece on its tile,
+ * one for black to move, one for the castling rights left and one for the file of the pawn
+ * that can be taken en passant. Moves update the key of their board by XOR-ing only what
+ * changed, see Move.calculateZobristKey.
+ */
+public final class Zobrist {
+
+    public static final int WHITE_KING_SIDE = 1;
+    public static final int WHITE_QUEEN_SIDE = 2;
+    public static final int BLACK_KING_SIDE = 4;
+    public static final int BLACK_QUEEN_SIDE = 8;
+    private static final int ALL_CASTLING_RIGHTS = 15;
+
+    private static final long[][][] PIECE_KEYS = new long[Alliance.values().length][PieceType.values().length][BoardUtils.NUM_TILES];
+    private static final long[] CASTLING_KEYS = new long[ALL_CASTLING_RIGHTS + 1];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+    private static final long BLACK_TO_MOVE_KEY;
+    private static final int[] CASTLING_RIGHTS_KEPT = initCastlingRightsKept();
+
+    static {
+        final SplittableRandom random = new SplittableRandom(0x5EED_C0DE_CAFE_BABEL); // fixed so keys are stable between runs
+        for (final long[][] allianceKeys : PIECE_KEYS) {
+            for (final long[] pieceKeys : allianceKeys) {
+                for (int i = 0; i < pieceKeys.length; i++) {
+                    pieceKeys[i] = random.nextLong();
+                }
+            }
+        }
+        for (int i = 0; i < CASTLING_KEYS.length; i++) {
+            CASTLING_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    // moving from or to one of these tiles takes away the castles that need the king or rook standing there
+    private static int[] initCastlingRightsKept() {
+        final int[] kept = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(kept, ALL_CASTLING_RIGHTS);
+        kept[60] = ALL_CASTLING_RIGHTS & ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+        kept[63] = ALL_CASTLING_RIGHTS & ~WHITE_KING_SIDE;
+        kept[56] = ALL_CASTLING_RIGHTS & ~WHITE_QUEEN_SIDE;
+        kept[4] = ALL_CASTLING_RIGHTS & ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+        kept[7] = ALL_CASTLING_RIGHTS & ~BLACK_KING_SIDE;
+        kept[0] = ALL_CASTLING_RIGHTS & ~BLACK_QUEEN_SIDE;
+        return kept;
+    }
+
+    public static long pieceKey(final Alliance alliance,
+                                final PieceType pieceType,
+                                final int tileCoordinate) {
+        return PIECE_KEYS[alliance.ordinal()][pieceType.ordinal()][tileCoordinate];
+    }
+
+    // same as above by ordinals, for SearchBoard
+    static long pieceKey(final int allianceIndex,
+                         final int pieceTypeIndex,
+                         final int tileCoordinate) {
+        return PIECE_KEYS[allianceIndex][pieceTypeIndex][tileCoordinate];
+    }
+
+    public static long pieceKey(final Piece piece) {
+        return pieceKey(piece.getPieceAlliance(), piece.getPieceType(), piece.getPiecePosition());
+    }
+
+    public static long blackToMoveKey() {
+        return BLACK_TO_MOVE_KEY;
+    }
+
+    public static long castlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    public static long enPassantKey(final Pawn enPassantPawn) {
+        return enPassantPawn == null ? 0L : enPassantKey(enPassantPawn.getPiecePosition());
+    }
+
+    public static long enPassantKey(final int enPassantPawnCoordinate) {
+        return EN_PASSANT_KEYS[enPassantPawnCoordinate % BoardUtils.NUM_TILES_PER_ROW];
+    }
+
+    public static int castlingRightsAfter(final int castlingRights,
+                                          final int currentCoordinate,
+                                          final int destinationCoordinate) {
+        return castlingRights & CASTLING_RIGHTS_KEPT[currentCoordinate] & CASTLING_RIGHTS_KEPT[destinationCoordinate];
+    }
+
+    static int calculateCastlingRights(final Piece[] gameBoard) {
+        int castlingRights = 0;
+        if (isUnmoved(gameBoard[60], Alliance.WHITE, PieceType.KING)) {
+            castlingRights |= isUnmoved(gameBoard[63], Alliance.WHITE, PieceType.ROOK) ? WHITE_KING_SIDE : 0;
+            castlingRights |= isUnmoved(gameBoard[56], Alliance.WHITE, PieceType.ROOK) ? WHITE_QUEEN_SIDE : 0;
+        }
+        if (isUnmoved(gameBoard[4], Alliance.BLACK, PieceType.KING)) {
+            castlingRights |= isUnmoved(gameBoard[7], Alliance.BLACK, PieceType.ROOK) ? BLACK_KING_SIDE : 0;
+            castlingRights |= isUnmoved(gameBoard[0], Alliance.BLACK, PieceType.ROOK) ? BLACK_QUEEN_SIDE : 0;
+        }
+        return castlingRights;
+    }
+
+    private static boolean isUnmoved(final Piece piece,
+                                     final Alliance alliance,
+                                     final PieceType pieceType) {
+        return piece != null && piece.isFirstMove() &&
+                piece.getPieceAlliance() == alliance && piece.getPieceType() == pieceType;
+    }
+
+    /**
+     * Builds the key from scratch. Boards made by a move get theirs incrementally; this is for
+     * boards set up by hand and for checking the incremental keys.
+     */
+    public static long calculateKey(final Board board) {
+        long key = 0L;
+        for (final Piece piece : board.getAllPieces()) {
+            key ^= pieceKey(piece);
+        }
+        if (board.getNextMoveMaker().isBlack()) {
+            key ^= BLACK_TO_MOVE_KEY;
+        }
+        return key ^ castlingKey(board.getCastlingRights()) ^ enPassantKey(board.getEnPassantPawn());
+    }
+}
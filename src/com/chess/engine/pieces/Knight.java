@@ -4,17 +4,11 @@ import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
-import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 
 public class Knight extends Piece{ // defining knight
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = {-17,-15,-10,-6,6,10,15,17}; // positions from position where can he land
-
     public Knight(Alliance pieceAlliance,int piecePosition) { //things assigned to knight
         super(PieceType.KNIGHT,piecePosition, pieceAlliance,true);
     }
@@ -23,59 +17,15 @@ public class Knight extends Piece{ // defining knight
     }
     @Override
     public Knight movePiece(Move move) {
-        return new Knight(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
+        return new Knight(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), false);
     }
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) { //unique movement
-
-        final List<Move> legalMoves = new ArrayList<>();
-
-        for(final int currentCandidate : CANDIDATE_MOVE_COORDINATES){
-
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidate;
-
-            if(BoardUtils.isValidTitleCoordinate(candidateDestinationCoordinate)) {
-
-                    if(isFirstColumnExclusion(this.piecePosition, currentCandidate) ||
-                        isSecondColumnExclusion(this.piecePosition, currentCandidate) ||
-                        isSeventhColumnExclusion(this.piecePosition, currentCandidate) ||
-                        isEightColumnExclusion(this.piecePosition, currentCandidate)) {
-                        continue;
-                    }
-                    final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-                    if (!candidateDestinationTile.isTileOccupied()) {
-                        legalMoves.add(new Move.MajorMover(board,this,candidateDestinationCoordinate));
-                    } else {
-                        final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                        final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-                        if (this.pieceAlliance != pieceAlliance) {
-                            legalMoves.add(new Move.MajorAttackMove(board,this,candidateDestinationCoordinate,pieceAtDestination));
-                        }
-                    }
-                }
-            }
-
-        return ImmutableList.copyOf(legalMoves);
-    }
-
-    private static boolean isFirstColumnExclusion(final int currentPosition, final int candidateOffset){
-
-        return BoardUtils.FIRST_COLUMN[currentPosition] && (candidateOffset == -17 || candidateOffset == -10 || candidateOffset == 6 || candidateOffset == 15);
-    }
-
-    private static boolean isSecondColumnExclusion(final int currentPosition, final int candidateOffset){
-
-        return BoardUtils.SECOND_COLUMN[currentPosition] && (candidateOffset == -10 || candidateOffset == 6);
-    }
-    private static boolean isSeventhColumnExclusion(final int currentPosition, final int candidateOffset){
-
-        return BoardUtils.SEVENTH_COLUMN[currentPosition] && (candidateOffset == -6 || candidateOffset == 10);
+        // the jumps of every tile are worked out once, none of them wraps around the board edge
+        return createMajorMoves(board, BoardUtils.KNIGHT_ATTACKS[this.piecePosition]);
     }
-    private static boolean isEightColumnExclusion(final int currentPosition, final int candidateOffset){
 
-        return BoardUtils.EIGHT_COLUMN[currentPosition] && (candidateOffset == -15 || candidateOffset == -6 || candidateOffset == 10 || candidateOffset == 17);
-    }
     @Override
     public String toString() {
         return PieceType.KNIGHT.toString();
@@ -1,6 +1,7 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
@@ -13,8 +14,6 @@ import java.util.List;
 import static com.chess.engine.board.Move.*;
 
 public class Pawn extends Piece {
-    private final static int[] CANDIDATE_MOVE_COORDINATE = {8, 16};
-
     public Pawn(Alliance pieceAlliance, int piecePosition) {
         super(PieceType.PAWN,piecePosition, pieceAlliance,true);
     }
@@ -23,7 +22,7 @@ public class Pawn extends Piece {
     }
     @Override
     public Pawn movePiece(Move move) {
-        return new Pawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate());
+        return new Pawn(move.getMovedPiece().getPieceAlliance(), move.getDestinationCoordinate(), false);
     }
 
     @Override
@@ -35,78 +34,66 @@ public class Pawn extends Piece {
     public Collection<Move> calculateLegalMoves(Board board) {
 
         final List<Move> legalMoves = new ArrayList<>();
-
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATE) {
-            int candidateDestinationCoordinate = this.piecePosition + (this.getPieceAlliance().getDirection() * currentCandidateOffset);
-
-            if (!BoardUtils.isValidTitleCoordinate(candidateDestinationCoordinate)) {
-                continue;
+        final BitBoard bitBoard = board.getBitBoard();
+        final long[] pushes = BoardUtils.PAWN_PUSHES[this.pieceAlliance.ordinal()];
+
+        final long push = pushes[this.piecePosition] & bitBoard.getEmptySquares();
+        if (push != BitBoard.EMPTY) {
+            final int candidateDestinationCoordinate = BitBoard.firstSquare(push);
+            if (this.pieceAlliance.isPawnPromotionSquare(candidateDestinationCoordinate)) {
+                addPromotions(legalMoves, new PawnMove(board, this, candidateDestinationCoordinate));
+            } else {
+                legalMoves.add(new PawnMove(board, this, candidateDestinationCoordinate));
             }
+            final long jump = pushes[candidateDestinationCoordinate] & bitBoard.getEmptySquares();
+            if (isOnStartingRank() && jump != BitBoard.EMPTY) {
+                legalMoves.add(new PawnJump(board, this, BitBoard.firstSquare(jump)));
+            }
+        }
+
+        final long attacks = calculateAttacks();
+        long captures = attacks & bitBoard.getOccupancy(oppositeAlliance());
+        while (captures != BitBoard.EMPTY) {
+            final int attackCoordinate = BitBoard.firstSquare(captures);
+            final Piece pieceOnCandidate = board.getPiece(attackCoordinate);
+            if (this.pieceAlliance.isPawnPromotionSquare(attackCoordinate)) {
+                addPromotions(legalMoves, new PawnAttackMove(board, this, attackCoordinate, pieceOnCandidate));
+            } else {
+                legalMoves.add(new PawnAttackMove(board, this, attackCoordinate, pieceOnCandidate));
+            }
+            captures = BitBoard.withoutFirstSquare(captures);
+        }
+
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn != null && enPassantPawn.getPieceAlliance() != this.pieceAlliance) {
+            final long enPassantTile = attacks & BoardUtils.PAWN_PUSHES[this.pieceAlliance.ordinal()][enPassantPawn.getPiecePosition()];
+            if (enPassantTile != BitBoard.EMPTY) { // the enemy pawn skipped the tile in front of it from our side
+                legalMoves.add(new PawnEnPassantAttackMove(board, this, BitBoard.firstSquare(enPassantTile), enPassantPawn));
+            }
+        }
+        return ImmutableList.copyOf(legalMoves);
+    }
 
-            if (currentCandidateOffset == 8 && board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-                if (this.pieceAlliance.isPawnPromotionSquare((candidateDestinationCoordinate))) {
-                    legalMoves.add(new PawnPromotion(new PawnMove(board,this, candidateDestinationCoordinate)));
-                }else {
-                    legalMoves.add(new PawnMove(board, this, candidateDestinationCoordinate));
-                }
-            } else if(currentCandidateOffset == 16 && this.isFirstMove() &&
-                    (BoardUtils.SECOND_RANK[this.piecePosition] && this.getPieceAlliance().isBlack())
-                    || (BoardUtils.SECOND_RANK[this.piecePosition] && this.getPieceAlliance().isWhite())){
-                final int behindCandidateDestinationCoordinate = this.piecePosition + (this.pieceAlliance.getDirection()*8);
-
-                if(!board.getTile(behindCandidateDestinationCoordinate).isTileOccupied() &&
-                    !board.getTile(candidateDestinationCoordinate).isTileOccupied()){
-                    legalMoves.add(new PawnJump(board,this,candidateDestinationCoordinate));
-                }
-            } else if(currentCandidateOffset == 7 &&
-                    !((BoardUtils.EIGHT_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite()) ||
-                            (BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack()))){
-                if(board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-                    final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
-
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                        if (this.pieceAlliance.isPawnPromotionSquare((candidateDestinationCoordinate))) {
-                            legalMoves.add(new PawnPromotion(new PawnMove(board, this, candidateDestinationCoordinate)));
-                        } else {
-                            legalMoves.add(new PawnAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-                        }
-                    }
-                }else if(board.getEnPassantPawn() != null){
-                    if(board.getEnPassantPawn().getPiecePosition() == (this.piecePosition + (this.pieceAlliance.getOppositeDirection())));
-                        final Piece pieceOnCandidate = board.getEnPassantPawn();
-
-                        if(this.pieceAlliance != pieceOnCandidate.getPieceAlliance()){
-                            legalMoves.add(new PawnEnPassantAttackMove(board,this,candidateDestinationCoordinate,pieceOnCandidate));
-                        }
-                }
-
-            } else if(currentCandidateOffset == 9 &&
-                    ((BoardUtils.EIGHT_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack()) ||
-                            !(BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite()))) {
-                if (board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-                    final Piece pieceOnCandidate = board.getTile(candidateDestinationCoordinate).getPiece();
-                    if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                        if (currentCandidateOffset == 8 && board.getTile(candidateDestinationCoordinate).isTileOccupied()) {
-                            if (this.pieceAlliance.isPawnPromotionSquare((candidateDestinationCoordinate))) {
-                                legalMoves.add(new PawnPromotion(new PawnMove(board, this, candidateDestinationCoordinate)));
-                            } else {
-                                legalMoves.add(new Move.MajorAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
+    // mask of the two diagonal tiles in front of the pawn, see BoardUtils.PAWN_ATTACKS
+    public long calculateAttacks() {
+        return BoardUtils.PAWN_ATTACKS[this.pieceAlliance.ordinal()][this.piecePosition];
+    }
 
-                            }
-                        }
-                    }
-                }else if (board.getEnPassantPawn() != null) {
-                        if (board.getEnPassantPawn().getPiecePosition() == (this.piecePosition - (this.pieceAlliance.getOppositeDirection())));
-                        final Piece pieceOnCandidate = board.getEnPassantPawn();
-                        if (this.pieceAlliance != pieceOnCandidate.getPieceAlliance()) {
-                            legalMoves.add(new PawnEnPassantAttackMove(board, this, candidateDestinationCoordinate, pieceOnCandidate));
-                        }
-                    }
-            }
+    private void addPromotions(final List<Move> legalMoves, final Move decoratedMove) {
+        for (final Piece promotionPiece : getPromotionPieces()) { // queen first, so it is the default choice
+            legalMoves.add(new PawnPromotion(decoratedMove, promotionPiece));
+        }
+    }
 
+    private boolean isOnStartingRank() {
+        return this.pieceAlliance.isWhite() ? BoardUtils.SECOND_RANK[this.piecePosition] :
+                BoardUtils.SEVENTH_RANK[this.piecePosition];
+    }
 
-        }return ImmutableList.copyOf(legalMoves);
+    private Alliance oppositeAlliance() {
+        return this.pieceAlliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
     }
+
     @Override
     public String toString() {
         return PieceType.PAWN.toString();
@@ -114,4 +101,10 @@ public class Pawn extends Piece {
     public Piece getPromotionPiece(){
         return new Queen(this.pieceAlliance, this.piecePosition, false);
     }
+    public List<Piece> getPromotionPieces(){
+        return ImmutableList.of(getPromotionPiece(),
+                new Rook(this.pieceAlliance, this.piecePosition, false),
+                new Bishop(this.pieceAlliance, this.piecePosition, false),
+                new Knight(this.pieceAlliance, this.piecePosition, false));
+    }
 }
@@ -1,8 +1,10 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
 
 import java.util.Collection;
 
@@ -66,6 +68,23 @@ public abstract class Piece {
 
     public abstract Collection<Move> calculateLegalMoves(final Board board);
 
+    // turns a mask of reachable tiles into moves, attacking whatever enemy piece sits on a tile
+    protected Collection<Move> createMajorMoves(final Board board, final long destinations) {
+        final ImmutableList.Builder<Move> legalMoves = ImmutableList.builder();
+        long remaining = destinations & ~board.getBitBoard().getOccupancy(this.pieceAlliance);
+        while (remaining != BitBoard.EMPTY) {
+            final int destinationCoordinate = BitBoard.firstSquare(remaining);
+            final Piece pieceAtDestination = board.getPiece(destinationCoordinate);
+            if (pieceAtDestination == null) {
+                legalMoves.add(new Move.MajorMover(board, this, destinationCoordinate));
+            } else {
+                legalMoves.add(new Move.MajorAttackMove(board, this, destinationCoordinate, pieceAtDestination));
+            }
+            remaining = BitBoard.withoutFirstSquare(remaining);
+        }
+        return legalMoves.build();
+    }
+
     public int getPieceValue() {
         return this.pieceType.getPieceValue();
     }
@@ -16,10 +16,8 @@ import static com.chess.engine.board.Move.QueenSideCastleMove;
 
 public class BlackPlayer extends Player {
 
-    public BlackPlayer(final Board board,
-                       final Collection<Move> whiteStandardLegalMoves,
-                       final Collection<Move> blackStandardLegalMoves) {
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+    public BlackPlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -27,6 +25,11 @@ public class BlackPlayer extends Player {
         return this.board.getBlackPieces();
     }
 
+    @Override
+    public String toString() {
+        return "Black";
+    }
+
     @Override
     public Alliance getAlliance() {
         return Alliance.BLACK;
@@ -38,56 +41,58 @@ public class BlackPlayer extends Player {
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
-                                                    final Collection<Move> opponentsLegals) { // calculate possibilities of doing castle
+    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals) { // calculate possibilities of doing castle
 
         final List<Move> kingCastles = new ArrayList<>(); // list of moves
-        //Castle left site
+
         if (this.playerKing.isFirstMove() && !this.isInCheck() && this.playerKing.getPiecePosition() == 4) { // if its first move and not checked
+            //Castle king side
             if (!this.board.getTile(5).isTileOccupied() && !this.board.getTile(6).isTileOccupied()) { // if fields between king and rook are empty
 
                 final Tile rookTile = this.board.getTile(7); // get rook coordinate
 
-                if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) { // if rook is on place and hasn't moved yet
-                    if (Player.calculateAttacksOnTile(5, opponentsLegals).isEmpty() && // checking if fields are under attack
-                            (Player.calculateAttacksOnTile(6, opponentsLegals).isEmpty()) &&
-                            rookTile.getPiece().getPieceType().isRook()) {
-
-                        kingCastles.add(new KingSideCastleMove(this.board,
-                                this.playerKing,
-                                6,
-                                (Rook) rookTile.getPiece(),
-                                rookTile.getTileCoordinate(),
-                                5));
+                if (isUnmovedRook(rookTile) && // if rook is on place and hasn't moved yet
+                        !isTileAttacked(5) && // checking if fields are under attack
+                        !isTileAttacked(6)) {
 
-                    }
+                    kingCastles.add(new KingSideCastleMove(this.board,
+                            this.playerKing,
+                            6,
+                            (Rook) rookTile.getPiece(),
+                            rookTile.getTileCoordinate(),
+                            5));
                 }
             }
-            // Castle right side
-            if (!this.board.getTile(1).isTileOccupied() &&
+            // Castle queen side
+            if (!this.board.getTile(3).isTileOccupied() &&
                     !this.board.getTile(2).isTileOccupied() &&
-                    !this.board.getTile(3).isTileOccupied()) {
+                    !this.board.getTile(1).isTileOccupied()) {
 
                 final Tile rookTile = this.board.getTile(0); // get rook coordinate
 
-                if (Player.calculateAttacksOnTile(2, opponentsLegals).isEmpty() && // checking if fields are under attack
-                        (Player.calculateAttacksOnTile(3, opponentsLegals).isEmpty()) &&
-                        rookTile.getPiece().getPieceType().isRook()) {
-
+                if (isUnmovedRook(rookTile) &&
+                        !isTileAttacked(3) && // the king crosses these fields, the rook's one may be attacked
+                        !isTileAttacked(2)) {
 
-                    if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-
-                        kingCastles.add(new QueenSideCastleMove(this.board,
-                                this.playerKing,
-                                2,
-                                (Rook) rookTile.getPiece(),
-                                rookTile.getTileCoordinate(),
-                                3));
-                    }
+                    kingCastles.add(new QueenSideCastleMove(this.board,
+                            this.playerKing,
+                            2,
+                            (Rook) rookTile.getPiece(),
+                            rookTile.getTileCoordinate(),
+                            3));
                 }
             }
+        }
+        return List.copyOf(kingCastles);
+    }
 
+    @Override
+    public boolean isKingSideCastleCapable() {
+        return this.playerKing.isFirstMove() && isUnmovedRook(this.board.getTile(7));
+    }
 
-        } return List.copyOf(kingCastles);
+    @Override
+    public boolean isQueenSideCastleCapable() {
+        return this.playerKing.isFirstMove() && isUnmovedRook(this.board.getTile(0));
     }
 }
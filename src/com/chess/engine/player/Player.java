@@ -2,32 +2,33 @@ package com.chess.engine.player;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.GameStatus;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
 import com.google.common.collect.ImmutableList;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 
 public abstract class Player {
 
     protected final Board board; // declaring local board, king and local moves
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    private final boolean isInCheck;
-    public boolean isInCheckMate;
 
-    Player(final Board board,
-           final Collection<Move> playerLegals, // constructor to connect things
-           final Collection<Move> opponentLegals){
+    // worked out on first use only, most boards made during a search never need them;
+    // two threads racing on one board both compute the same immutable value, which is harmless
+    private Collection<Move> standardMoves;
+    private Collection<Move> legalMoves;
+    private int[] strictlyLegalMoves;
+    private Boolean isInCheck;
+
+    Player(final Board board){ // constructor to connect things
         this.board = board;
         this.playerKing = establishKing();
-        this.isInCheck = !calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentLegals).isEmpty();
-        playerLegals.addAll(calculateKingCastles(playerLegals, opponentLegals)); // TODO HERE
-        this.legalMoves = Collections.unmodifiableCollection(playerLegals);
     }
 
     public abstract Collection<Piece> getActivePieces();
@@ -35,18 +36,26 @@ public abstract class Player {
     public abstract Player getOpponent();
 
     public boolean isInCheckmate(){
-        return this.isInCheck && !hasEscapeMoves();
+        return getGameStatus() == GameStatus.CHECKMATE;
     }
 
     public boolean isInStealMate(){
-        return !this.isInCheck && !hasEscapeMoves();
+        return getGameStatus() == GameStatus.STALEMATE;
+    }
+
+    // the board's shared status when it is this player's turn
+    private GameStatus getGameStatus(){
+        if (this == this.board.currentPlayer()) {
+            return this.board.getGameStatus();
+        }
+        return GameStatus.of(isInCheck(), hasEscapeMoves());
     }
 
     public boolean isCastled(){
         return false;
     }
 
-    protected abstract Collection <Move> calculateKingCastles(Collection<Move> playerLegals, Collection<Move> opponentsLegals);
+    protected abstract Collection <Move> calculateKingCastles(Collection<Move> playerLegals);
 
 
 
@@ -55,15 +64,15 @@ public abstract class Player {
     }
 
 
-    public static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> moves){ // find attack moves from moves
-        final List<Move> attackMoves = new ArrayList<>();
-        for(final Move move : moves){
-            if(piecePosition == move.getDestinationCoordinate()){
-                attackMoves.add(move);
-            }
-            return ImmutableList.copyOf(attackMoves);
-        }
-        return moves;
+    protected boolean isTileAttacked(final int tileCoordinate){ // looks outward from the tile, see BitBoard.getAttackersOf
+        return this.board.isSquareAttacked(tileCoordinate, getOpponent().getAlliance());
+    }
+
+    protected boolean isUnmovedRook(final Tile rookTile){
+        return rookTile.isTileOccupied() &&
+                rookTile.getPiece().getPieceType().isRook() &&
+                rookTile.getPiece().getPieceAlliance() == getAlliance() &&
+                rookTile.getPiece().isFirstMove();
     }
 
     private King establishKing() { // established king
@@ -75,14 +84,8 @@ public abstract class Player {
         throw new RuntimeException("Should not reach here! Not a valid Board");
     }
 
-    protected boolean hasEscapeMoves() {
-        for (final Move move : this.legalMoves) {
-            final MoveTransition transition = makeMove(move);
-            if (transition.getMoveStatus().isDone()) {
-                return true;
-            } 
-        }
-        return false;
+    public boolean hasEscapeMoves() {
+        return getStrictlyLegalMoves().length > 0;
     }
 
     public MoveTransition makeMove(final Move move){
@@ -90,20 +93,46 @@ public abstract class Player {
         if(!isMoveLegal(move)){
             return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
         }
-        final Board transitionBoard = move.execute();
-
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-                transitionBoard.currentPlayer().getLegalMoves());
-
-
-        if(!kingAttacks.isEmpty()){
+        if(Arrays.binarySearch(getStrictlyLegalMoves(), PackedMove.of(move)) < 0){
             return new MoveTransition(this.board, move , MoveStatus.LEAVES_PLAYER_IN_CHECK);
         }
-        return new MoveTransition(transitionBoard,move,MoveStatus.DONE);
+        return new MoveTransition(move.execute(),move,MoveStatus.DONE);
+    }
+
+    // sorted PackedMoves of the legal moves that do not leave the king attacked, see SearchBoard.generateLegalMoves
+    private int[] getStrictlyLegalMoves() {
+        int[] strictlyLegalMoves = this.strictlyLegalMoves;
+        if (strictlyLegalMoves == null) {
+            final int[] moves = new int[SearchBoard.MAX_MOVES];
+            final int numMoves = new SearchBoard(this.board).generateLegalMoves(getAlliance(), moves, 0);
+            strictlyLegalMoves = Arrays.copyOf(moves, numMoves);
+            Arrays.sort(strictlyLegalMoves);
+            this.strictlyLegalMoves = strictlyLegalMoves;
+        }
+        return strictlyLegalMoves;
     }
 
     public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+        Collection<Move> legalMoves = this.legalMoves;
+        if (legalMoves == null) {
+            final Collection<Move> standardMoves = getStandardMoves();
+            legalMoves = ImmutableList.<Move>builder()
+                    .addAll(standardMoves)
+                    .addAll(calculateKingCastles(standardMoves))
+                    .build();
+            this.legalMoves = legalMoves;
+        }
+        return legalMoves;
+    }
+
+    // the moves of every piece, without castles
+    private Collection<Move> getStandardMoves() {
+        Collection<Move> standardMoves = this.standardMoves;
+        if (standardMoves == null) {
+            standardMoves = ImmutableList.copyOf(this.board.calculateLegalMoves(getActivePieces()));
+            this.standardMoves = standardMoves;
+        }
+        return standardMoves;
     }
 
     private King getPlayerKing() {
@@ -111,30 +140,31 @@ public abstract class Player {
     }
 
     public boolean isMoveLegal(final Move move){
-        return this.legalMoves.contains(move);
+        return getLegalMoves().contains(move);
     }
 
     public boolean isInCheck(){
-        return this.isInCheck;
+        Boolean isInCheck = this.isInCheck;
+        if (isInCheck == null) {
+            isInCheck = isTileAttacked(this.playerKing.getPiecePosition());
+            this.isInCheck = isInCheck;
+        }
+        return isInCheck;
     }
 
 
     public boolean isInCheckMate() {
-        return false;
+        return isInCheckmate();
     }
 
-    public boolean isKingSideCastleCapable() {
-        return true;
-    }
+    public abstract boolean isKingSideCastleCapable();
 
-    public boolean isQueenSideCastleCapable() {
-        return true;
-    }
+    public abstract boolean isQueenSideCastleCapable();
 
 
 
     public boolean isInStaleMate() {
-        return false;
+        return isInStealMate();
     }
 
 }
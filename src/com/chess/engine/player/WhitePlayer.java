@@ -4,6 +4,7 @@ import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
 import com.chess.engine.board.Move.KingSideCastleMove;
+import com.chess.engine.board.Move.QueenSideCastleMove;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
@@ -14,69 +15,69 @@ import java.util.List;
 
 public class WhitePlayer extends Player {
 
-    public WhitePlayer(Board board, //constructor of white piece
-                       Collection<Move> whiteStandardLegalMoves,
-                       Collection<Move> blackStandardLegalMoves) {
+    public WhitePlayer(Board board) { //constructor of white piece
 
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
+        super(board);
 
     }
 
 
     @Override
-    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals,
-                                                    final Collection<Move> opponentsLegals) { // calculate possibilities of doing castle
+    protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegals) { // calculate possibilities of doing castle
 
-        final List<Move> kingCastles = new ArrayList<>(0); // list of moves
-        //Castle right site
+        final List<Move> kingCastles = new ArrayList<>(); // list of moves
 
-        if (this.playerKing.isFirstMove() && !this.isInCheck()) { // if its first move and not checked
+        if (this.playerKing.isFirstMove() && !this.isInCheck() && this.playerKing.getPiecePosition() == 60) { // if its first move and not checked
+            //Castle king side
             if (!this.board.getTile(61).isTileOccupied() && !this.board.getTile(62).isTileOccupied()) { // if fields between king and rook are empty
 
                 final Tile rookTile = this.board.getTile(63); // get rook coordinate
 
-                if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) { // if rook is on place and hasn't moved yet
-                    if (Player.calculateAttacksOnTile(61, opponentsLegals).isEmpty() && // checking if fields are under attack
-                            (Player.calculateAttacksOnTile(62, opponentsLegals).isEmpty()) &&
-                            rookTile.getPiece().getPieceType().isRook()) {
+                if (isUnmovedRook(rookTile) && // if rook is on place and hasn't moved yet
+                        !isTileAttacked(61) && // checking if fields are under attack
+                        !isTileAttacked(62)) {
 
-                        kingCastles.add(new KingSideCastleMove(this.board,
-                                this.playerKing,
-                                62,
-                                (Rook) rookTile.getPiece(),
-                                rookTile.getTileCoordinate(),
-                                61));
-
-                    }
+                    kingCastles.add(new KingSideCastleMove(this.board,
+                            this.playerKing,
+                            62,
+                            (Rook) rookTile.getPiece(),
+                            rookTile.getTileCoordinate(),
+                            61));
                 }
             }
-            // Castle left side
+            // Castle queen side
             if (!this.board.getTile(59).isTileOccupied() &&
                     !this.board.getTile(58).isTileOccupied() &&
                     !this.board.getTile(57).isTileOccupied()) {
 
-                final Tile rookTile = this.board.getTile(63); // get rook coordinate
+                final Tile rookTile = this.board.getTile(56); // get rook coordinate
+
+                if (isUnmovedRook(rookTile) &&
+                        !isTileAttacked(59) && // the king crosses these fields, the rook's one may be attacked
+                        !isTileAttacked(58)) {
 
-                if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) { // if rook is on place and hasn't moved yet
-                    if (Player.calculateAttacksOnTile(57, opponentsLegals).isEmpty() && // checking if fields are under attack
-                            (Player.calculateAttacksOnTile(59, opponentsLegals).isEmpty()) &&
-                            rookTile.getPiece().getPieceType().isRook()) {
-
-                        if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                            kingCastles.add(new Move.QueenSideCastleMove(this.board,
-                                    this.playerKing,
-                                    58,
-                                    (Rook) rookTile.getPiece(),
-                                    rookTile.getTileCoordinate(),
-                                    59));
-                        }
-                    }
+                    kingCastles.add(new QueenSideCastleMove(this.board,
+                            this.playerKing,
+                            58,
+                            (Rook) rookTile.getPiece(),
+                            rookTile.getTileCoordinate(),
+                            59));
                 }
             }
         }
         return List.copyOf(kingCastles);
     }
 
+    @Override
+    public boolean isKingSideCastleCapable() {
+        return this.playerKing.isFirstMove() && isUnmovedRook(this.board.getTile(63));
+    }
+
+    @Override
+    public boolean isQueenSideCastleCapable() {
+        return this.playerKing.isFirstMove() && isUnmovedRook(this.board.getTile(56));
+    }
+
 
     @Override
     public Collection<Piece> getActivePieces() { // get pieces what didn't kill
@@ -84,6 +85,11 @@ public class WhitePlayer extends Player {
     }
 
 
+    @Override
+    public String toString() {
+        return "White";
+    }
+
     @Override
     public Alliance getAlliance() { // read your alliance
         return Alliance.WHITE;
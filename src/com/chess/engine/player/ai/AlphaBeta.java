@@ -0,0 +1,599 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Negamax search with alpha-beta pruning. Scores are from the point of view of the side to move,
+ * so one method covers both players. Uses the same evaluator and root move order as MiniMax and
+ * picks the same move at the same depth, while cutting off lines that cannot change the result.
+ * Below the root the tree is walked by make/unmake on one SearchBoard, with a reused int[] of
+ * moves per ply, so a node allocates nothing, and the moves are tried in the order of a
+ * MoveOrdering. The root keeps MiniMax's order, which decides between equally good moves.
+ * Features switch on search extensions and the selective pruning that MiniMax does not have;
+ * without any the two agree. The pruning features trade exactness for depth: they skip or
+ * shorten lines that are very likely, not certain, to be irrelevant.
+ */
+public class AlphaBeta implements MoveStrategy {
+
+    public enum Feature {
+        QUIESCENCE,         // at depth 0, search captures and promotions until the position is quiet
+        QUIESCENCE_CHECKS,  // and, on the first quiescence ply, quiet moves that give check
+        NULL_MOVE,          // pass; if a shallower search still fails high, so would any real move
+        LATE_MOVE_REDUCTIONS, // quiet moves late in the order get a shallower search, deeper only if it beats alpha
+        FUTILITY,           // near the leaves, skip quiet moves when even a margin above the static score misses alpha
+        REVERSE_FUTILITY,   // near the leaves, fail high when the static score beats beta by a margin
+        PRINCIPAL_VARIATION // after the first move, prove the others worse with null windows
+    }
+
+    public static final Set<Feature> DEFAULT_FEATURES = Collections.unmodifiableSet(EnumSet.of(Feature.QUIESCENCE));
+    public static final Set<Feature> SELECTIVE_FEATURES = Collections.unmodifiableSet(EnumSet.of(Feature.QUIESCENCE,
+            Feature.NULL_MOVE, Feature.LATE_MOVE_REDUCTIONS, Feature.FUTILITY, Feature.REVERSE_FUTILITY));
+
+    static final int INFINITY = Integer.MAX_VALUE / 2; // leaves room to negate and widen windows
+    // a capture that cannot lift the score to alpha even with this much positional gain is skipped
+    private static final int DELTA_MARGIN = 200;
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int NULL_MOVE_REDUCTION = 2;
+    private static final int LATE_MOVE_MIN_DEPTH = 3;
+    private static final int LATE_MOVE_INDEX = 3; // moves before this one are always searched to full depth
+    private static final int[] FUTILITY_MARGINS = {0, 200, 500}; // by depth left, a minor piece and a rook
+    private static final int REVERSE_FUTILITY_MAX_DEPTH = 3;
+    private static final int REVERSE_FUTILITY_MARGIN = 120; // per ply left
+    // nodes between reports to a shared count, small so that threads overrun a shared budget by little
+    private static final int SHARED_NODES_INTERVAL = 64;
+
+    private final BoardEvaluator boardEvaluator;
+    private final int depth;
+    private final TranspositionTable transpositionTable; // null when searching without one
+    private final MoveOrdering moveOrdering;
+    private final boolean useQuiescence;
+    private final boolean useQuiescenceChecks;
+    private final boolean useNullMove;
+    private final boolean useLateMoveReductions;
+    private final boolean useFutility;
+    private final boolean useReverseFutility;
+    private final boolean usePrincipalVariation;
+    private long nodesSearched;
+    private int selectiveDepth; // furthest ply from the root any node reached
+    private long betaCutoffs;
+    private long firstMoveCutoffs;
+    private long nodeLimit = SearchLimits.NO_NODE_LIMIT;
+    private long deadline = Long.MAX_VALUE; // System.currentTimeMillis() value
+    private AtomicBoolean stopSignal; // set by another thread to end the search, may be null
+    private int rootRotation; // root moves skipped to the end of the list, 0 keeps MiniMax's order
+    private LongAdder sharedNodes; // nodes of every thread searching under one budget, may be null
+    private long sharedNodeLimit = SearchLimits.NO_NODE_LIMIT;
+    private long reportedNodes; // part of nodesSearched already added to sharedNodes
+    private int[][] moveBuffers = new int[0][];
+    private boolean aborted;
+    private int score; // of the last searchRoot
+    private SearchStats searchStats;
+
+    public AlphaBeta(final int depth) {
+        this(new StandardBoardEvaluator(), depth);
+    }
+
+    public AlphaBeta(final BoardEvaluator boardEvaluator,
+                     final int depth) {
+        this(boardEvaluator, depth, null);
+    }
+
+    public AlphaBeta(final BoardEvaluator boardEvaluator,
+                     final int depth,
+                     final TranspositionTable transpositionTable) {
+        this(boardEvaluator, depth, transpositionTable, new HeuristicMoveOrdering());
+    }
+
+    public AlphaBeta(final BoardEvaluator boardEvaluator,
+                     final int depth,
+                     final TranspositionTable transpositionTable,
+                     final MoveOrdering moveOrdering) {
+        this(boardEvaluator, depth, transpositionTable, moveOrdering, EnumSet.noneOf(Feature.class));
+    }
+
+    public AlphaBeta(final BoardEvaluator boardEvaluator,
+                     final int depth,
+                     final TranspositionTable transpositionTable,
+                     final MoveOrdering moveOrdering,
+                     final Set<Feature> features) {
+        this.boardEvaluator = boardEvaluator;
+        this.depth = depth;
+        this.transpositionTable = transpositionTable;
+        this.moveOrdering = moveOrdering;
+        this.useQuiescence = features.contains(Feature.QUIESCENCE);
+        this.useQuiescenceChecks = this.useQuiescence && features.contains(Feature.QUIESCENCE_CHECKS);
+        this.useNullMove = features.contains(Feature.NULL_MOVE);
+        this.useLateMoveReductions = features.contains(Feature.LATE_MOVE_REDUCTIONS);
+        this.useFutility = features.contains(Feature.FUTILITY);
+        this.useReverseFutility = features.contains(Feature.REVERSE_FUTILITY);
+        this.usePrincipalVariation = features.contains(Feature.PRINCIPAL_VARIATION);
+    }
+
+    @Override
+    public String toString() {
+        return "AlphaBeta";
+    }
+
+    public long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    @Override
+    public SearchStats getSearchStats() {
+        return this.searchStats;
+    }
+
+    int getDepth() {
+        return this.depth;
+    }
+
+    int getSelectiveDepth() {
+        return this.selectiveDepth;
+    }
+
+    long getBetaCutoffs() {
+        return this.betaCutoffs;
+    }
+
+    long getFirstMoveCutoffs() {
+        return this.firstMoveCutoffs;
+    }
+
+    /**
+     * Stops the next search once it has visited nodeLimit nodes or the clock passes deadline.
+     * A stopped search returns the best move of the root moves it finished and reports
+     * wasAborted, so callers such as IterativeDeepening know to discard it.
+     */
+    void setBudget(final long nodeLimit,
+                   final long deadline) {
+        this.nodeLimit = nodeLimit;
+        this.deadline = deadline;
+    }
+
+    void setStopSignal(final AtomicBoolean stopSignal) {
+        this.stopSignal = stopSignal;
+    }
+
+    // for LazySmp's helpers, so that each starts its root on different moves
+    void setRootRotation(final int rootRotation) {
+        this.rootRotation = rootRotation;
+    }
+
+    /**
+     * Adds this search's nodes to sharedNodes as it goes, and stops it like setBudget once the
+     * count of all threads adding to it reaches sharedNodeLimit.
+     */
+    void setSharedBudget(final LongAdder sharedNodes,
+                         final long sharedNodeLimit) {
+        this.sharedNodes = sharedNodes;
+        this.sharedNodeLimit = sharedNodeLimit;
+    }
+
+    boolean wasAborted() {
+        return this.aborted;
+    }
+
+    int getScore() {
+        return this.score;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+
+        final long startTime = System.currentTimeMillis();
+
+        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.depth);
+
+        if (this.transpositionTable != null) {
+            this.transpositionTable.newSearch();
+        }
+        final long probes = this.transpositionTable == null ? 0 : this.transpositionTable.getProbes();
+        final long hits = this.transpositionTable == null ? 0 : this.transpositionTable.getHits();
+        this.moveOrdering.newSearch();
+        final Move bestMove = search(board);
+
+        final long executionTime = System.currentTimeMillis() - startTime;
+        final SearchStats.Builder builder = new SearchStats.Builder()
+                .setBestMove(bestMove)
+                .setDepth(this.depth)
+                .setSelectiveDepth(this.selectiveDepth)
+                .setNodesSearched(this.nodesSearched)
+                .setElapsedMillis(executionTime)
+                .addCutoffs(this.betaCutoffs, this.firstMoveCutoffs)
+                .addIteration(executionTime);
+        if (this.transpositionTable != null) {
+            builder.setTranspositionCounts(this.transpositionTable.getProbes() - probes,
+                    this.transpositionTable.getHits() - hits);
+        }
+        this.searchStats = builder
+                .setPrincipalVariation(SearchStats.principalVariation(board, bestMove, this.transpositionTable, this.depth))
+                .build();
+        System.out.println(board.currentPlayer() + " SELECTS " + bestMove + " " + this.searchStats);
+
+        return bestMove;
+    }
+
+    Move search(final Board board) {
+        this.nodesSearched = 0;
+        this.reportedNodes = 0;
+        this.selectiveDepth = 0;
+        this.betaCutoffs = 0;
+        this.firstMoveCutoffs = 0;
+        this.aborted = false;
+        final SearchBoard searchBoard = new SearchBoard(board);
+
+        Move bestMove = null;
+        int bestValue = -INFINITY;
+
+        Collection<Move> rootMoves = board.currentPlayer().getLegalMoves();
+        if (this.rootRotation != 0 && !rootMoves.isEmpty()) {
+            final List<Move> rotated = new ArrayList<>(rootMoves);
+            Collections.rotate(rotated, -(this.rootRotation % rotated.size()));
+            rootMoves = rotated;
+        }
+        for (final Move move : rootMoves) {
+            if (searchBoard.makeMove(PackedMove.of(move))) {
+                // MiniMax keeps the last of equally good moves, so a tie must still be searched exactly
+                final int alpha = bestMove == null ? -INFINITY : bestValue - 1;
+                final int currentValue = -negamax(searchBoard, this.depth - 1, -INFINITY, -alpha, true);
+                searchBoard.unmakeMove();
+                if (this.aborted) {
+                    break; // the unfinished move's score is meaningless
+                }
+                if (bestMove == null || currentValue >= bestValue) {
+                    bestValue = currentValue;
+                    bestMove = move;
+                }
+            }
+        }
+        reportSharedNodes();
+        return bestMove;
+    }
+
+    /**
+     * Root of a search inside the window (alpha, beta), for PrincipalVariationSearch. Unlike
+     * search the root moves are ordered too, the transposition table's move first, and searched
+     * as any other node; getScore then returns the score, exact inside the window, an upper
+     * bound at or below alpha and a lower bound at or above beta. Returns null when there is no
+     * legal move or the search stopped before the first one was done.
+     */
+    Move searchRoot(final Board board,
+                    int alpha,
+                    final int beta) {
+        this.nodesSearched = 0;
+        this.reportedNodes = 0;
+        this.selectiveDepth = 0;
+        this.betaCutoffs = 0;
+        this.firstMoveCutoffs = 0;
+        this.aborted = false;
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final int originalAlpha = alpha;
+        final int hashMove = this.transpositionTable == null ? PackedMove.NONE :
+                TranspositionTable.move(this.transpositionTable.probe(searchBoard.getZobristKey()));
+        final int[] moves = moveBuffer(searchBoard.getPly());
+        final int numMoves = searchBoard.generateLegalMoves(moves, 0);
+        this.moveOrdering.orderMoves(searchBoard, moves, numMoves, hashMove);
+        int bestValue = numMoves == 0 ? sideToMoveSign(searchBoard) * this.boardEvaluator.evaluate(searchBoard, this.depth) : -INFINITY;
+        int bestMove = PackedMove.NONE;
+        for (int i = 0; i < numMoves; i++) {
+            final int move = moves[i];
+            searchBoard.makeLegalMove(move);
+            final int currentValue = searchMove(searchBoard, this.depth, alpha, beta, i == 0, 0);
+            searchBoard.unmakeMove();
+            if (this.aborted) {
+                break;
+            }
+            if (currentValue > bestValue) {
+                bestValue = currentValue;
+                bestMove = move;
+            }
+            if (bestValue > alpha) {
+                alpha = bestValue;
+            }
+            if (alpha >= beta) {
+                countCutoff(i);
+                break;
+            }
+        }
+        this.score = bestValue;
+        if (this.transpositionTable != null && !this.aborted && bestMove != PackedMove.NONE) {
+            final int bound = bestValue <= originalAlpha ? TranspositionTable.UPPER_BOUND :
+                    bestValue >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+            this.transpositionTable.store(searchBoard.getZobristKey(), this.depth, bestValue, bound, bestMove);
+        }
+        reportSharedNodes();
+        return bestMove == PackedMove.NONE ? null : PackedMove.toMove(board, bestMove);
+    }
+
+    /**
+     * Score of one legal root move, as a PackedMove of board, from the point of view of the side
+     * making it. Scores above alpha are exact; anything at or below alpha only bounds the true
+     * score from above.
+     */
+    int searchRootMove(final Board board,
+                       final int move,
+                       final int alpha) {
+        final SearchBoard searchBoard = new SearchBoard(board);
+        searchBoard.makeLegalMove(move);
+        return -negamax(searchBoard, this.depth - 1, -INFINITY, -alpha, true);
+    }
+
+    /**
+     * nullMoveAllowed is false right after a null move, two in a row would only hand the move
+     * back. Reductions can take depth below 0, which counts as 0.
+     */
+    private int negamax(final SearchBoard board,
+                        final int depth,
+                        int alpha,
+                        final int beta,
+                        final boolean nullMoveAllowed) {
+        if (this.aborted || isOutOfBudget()) {
+            this.aborted = true;
+            return 0;
+        }
+        if (depth <= 0 && this.useQuiescence) {
+            return quiescence(board, alpha, beta, 0);
+        }
+        this.nodesSearched++;
+        this.selectiveDepth = Math.max(this.selectiveDepth, board.getPly());
+        if (depth <= 0 || board.getGameStatus().isGameOver()) {
+            return sideToMoveSign(board) * this.boardEvaluator.evaluate(board, depth);
+        }
+
+        final int originalAlpha = alpha;
+        int hashMove = PackedMove.NONE;
+        if (this.transpositionTable != null) {
+            final long entry = this.transpositionTable.probe(board.getZobristKey());
+            hashMove = TranspositionTable.move(entry);
+            if (entry != TranspositionTable.NO_ENTRY && TranspositionTable.depth(entry) >= depth) {
+                final int score = TranspositionTable.score(entry);
+                final int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT ||
+                        (bound == TranspositionTable.LOWER_BOUND && score >= beta) ||
+                        (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        final boolean inCheck = board.getGameStatus().isCheck();
+        final boolean nearLeaves = !inCheck &&
+                ((this.useFutility && depth < FUTILITY_MARGINS.length) ||
+                        (this.useReverseFutility && depth <= REVERSE_FUTILITY_MAX_DEPTH));
+        final int staticValue = nearLeaves ? sideToMoveSign(board) * this.boardEvaluator.evaluate(board, depth) : 0;
+        if (nearLeaves && this.useReverseFutility && depth <= REVERSE_FUTILITY_MAX_DEPTH &&
+                staticValue - REVERSE_FUTILITY_MARGIN * depth >= beta) {
+            return staticValue - REVERSE_FUTILITY_MARGIN * depth;
+        }
+        if (this.useNullMove && nullMoveAllowed && !inCheck && depth >= NULL_MOVE_MIN_DEPTH && !isZugzwangRisk(board)) {
+            board.makeNullMove();
+            final int nullValue = -negamax(board, depth - 1 - NULL_MOVE_REDUCTION, -beta, -beta + 1, false);
+            board.unmakeMove();
+            if (this.aborted) {
+                return 0;
+            }
+            if (nullValue >= beta) {
+                return beta; // not nullValue, a score found by passing proves no more than the cutoff
+            }
+        }
+        final boolean futile = nearLeaves && this.useFutility && depth < FUTILITY_MARGINS.length &&
+                staticValue + FUTILITY_MARGINS[depth] <= alpha;
+
+        final int[] moves = moveBuffer(board.getPly());
+        final int numMoves = board.generateLegalMoves(moves, 0);
+        this.moveOrdering.orderMoves(board, moves, numMoves, hashMove);
+        int bestValue = -INFINITY;
+        int bestMove = PackedMove.NONE;
+        for (int i = 0; i < numMoves; i++) {
+            final int move = moves[i];
+            final boolean isQuiet = !PackedMove.isCapture(move) && !PackedMove.isPromotion(move);
+            board.makeLegalMove(move);
+            // the first move is always searched, so there is a score to return
+            final boolean isReducible = isQuiet && i > 0 && !inCheck && !board.isInCheck();
+            if (futile && isReducible) {
+                board.unmakeMove();
+                continue;
+            }
+            final int reduction = this.useLateMoveReductions && isReducible && depth >= LATE_MOVE_MIN_DEPTH &&
+                    i >= LATE_MOVE_INDEX ? (i >= 2 * LATE_MOVE_INDEX && depth >= 2 * LATE_MOVE_MIN_DEPTH ? 2 : 1) : 0;
+            final int currentValue = searchMove(board, depth, alpha, beta, i == 0, reduction);
+            board.unmakeMove();
+            if (this.aborted) {
+                return 0;
+            }
+            if (currentValue > bestValue) {
+                bestValue = currentValue;
+                bestMove = move;
+            }
+            if (bestValue > alpha) {
+                alpha = bestValue;
+            }
+            if (alpha >= beta) {
+                this.moveOrdering.recordCutoff(board, move, depth);
+                countCutoff(i);
+                break; // the opponent will never allow this line
+            }
+        }
+        if (this.transpositionTable != null) {
+            final int bound = bestValue <= originalAlpha ? TranspositionTable.UPPER_BOUND :
+                    bestValue >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+            this.transpositionTable.store(board.getZobristKey(), depth, bestValue, bound, bestMove);
+        }
+        return bestValue;
+    }
+
+    /**
+     * Searches on past the horizon with captures and promotions only, so a leaf is never scored
+     * in the middle of an exchange. The side to move may stand pat on the static score instead
+     * of capturing, except in check, where every evasion is searched. Captures that lose
+     * material by static exchange, or that leave the score short of alpha even when they win
+     * the piece, are skipped. qdepth counts the plies since the horizon.
+     */
+    private int quiescence(final SearchBoard board,
+                           int alpha,
+                           final int beta,
+                           final int qdepth) {
+        if (this.aborted || isOutOfBudget()) {
+            this.aborted = true;
+            return 0;
+        }
+        this.nodesSearched++;
+        this.selectiveDepth = Math.max(this.selectiveDepth, board.getPly());
+        final boolean inCheck = board.isInCheck();
+        int bestValue = -INFINITY;
+        if (!inCheck) {
+            bestValue = sideToMoveSign(board) * this.boardEvaluator.evaluate(board, 0);
+            if (bestValue >= beta) {
+                return bestValue;
+            }
+            if (bestValue > alpha) {
+                alpha = bestValue;
+            }
+        }
+
+        final int[] moves = moveBuffer(board.getPly());
+        final int numMoves = board.generateLegalMoves(moves, 0);
+        if (numMoves == 0) {
+            return sideToMoveSign(board) * this.boardEvaluator.evaluate(board, 0);
+        }
+        this.moveOrdering.orderMoves(board, moves, numMoves, PackedMove.NONE);
+        final int standPat = bestValue;
+        for (int i = 0; i < numMoves; i++) {
+            final int move = moves[i];
+            final boolean isTactical = PackedMove.isCapture(move) || PackedMove.isPromotion(move);
+            if (!inCheck) {
+                if (!isTactical) {
+                    if (!this.useQuiescenceChecks || qdepth > 0) {
+                        continue;
+                    }
+                } else if (standPat + materialGain(move) + DELTA_MARGIN <= alpha ||
+                        board.staticExchange(move) < 0) {
+                    continue;
+                }
+            }
+            board.makeLegalMove(move);
+            if (!inCheck && !isTactical && !board.isInCheck()) {
+                board.unmakeMove(); // a quiet move is only searched when it gives check
+                continue;
+            }
+            final int currentValue = -quiescence(board, -beta, -alpha, qdepth + 1);
+            board.unmakeMove();
+            if (this.aborted) {
+                return 0;
+            }
+            if (currentValue > bestValue) {
+                bestValue = currentValue;
+            }
+            if (bestValue > alpha) {
+                alpha = bestValue;
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+        return bestValue;
+    }
+
+    /**
+     * Score of the move just made, from the mover's side. Later moves are first searched with a
+     * null window around alpha when principal variation search or a reduction applies: that only
+     * tells whether the move beats alpha, which most do not, and costs far less than a full
+     * window. A move that does beat it is searched again, to full depth and then, if it lands
+     * inside the window, with the full window for its exact score.
+     */
+    private int searchMove(final SearchBoard board,
+                           final int depth,
+                           final int alpha,
+                           final int beta,
+                           final boolean isFirstMove,
+                           final int reduction) {
+        if (isFirstMove || (!this.usePrincipalVariation && reduction == 0)) {
+            return -negamax(board, depth - 1, -beta, -alpha, true);
+        }
+        int value = -negamax(board, depth - 1 - reduction, -alpha - 1, -alpha, true);
+        boolean isReduced = reduction > 0;
+        if (value > alpha && isReduced && this.usePrincipalVariation && !this.aborted) {
+            value = -negamax(board, depth - 1, -alpha - 1, -alpha, true);
+            isReduced = false;
+        }
+        if (value > alpha && (value < beta || isReduced) && !this.aborted) {
+            value = -negamax(board, depth - 1, -beta, -alpha, true);
+        }
+        return value;
+    }
+
+    // moveIndex is where in the ordered moves the one that failed high stood
+    private void countCutoff(final int moveIndex) {
+        this.betaCutoffs++;
+        if (moveIndex == 0) {
+            this.firstMoveCutoffs++;
+        }
+    }
+
+    // with only pawns left, or close to an endgame, passing can be the best move and null moves lie
+    private static boolean isZugzwangRisk(final SearchBoard board) {
+        final Alliance side = board.getSideToMove();
+        return board.isEndGame() || (board.getOccupancy(side) & ~board.getPieces(side, PieceType.PAWN) &
+                ~board.getPieces(side, PieceType.KING)) == 0;
+    }
+
+    // material the move wins outright: the captured piece, and what a pawn becomes on promotion
+    private static int materialGain(final int move) {
+        int gain = PackedMove.isCapture(move) ? PackedMove.capturedPiece(move).getPieceValue() : 0;
+        if (PackedMove.isPromotion(move)) {
+            gain += PackedMove.promotionType(move).getPieceValue() - PieceType.PAWN.getPieceValue();
+        }
+        return gain;
+    }
+
+    // one buffer per ply, reused by every node at that ply
+    private int[] moveBuffer(final int ply) {
+        if (ply >= this.moveBuffers.length) {
+            this.moveBuffers = Arrays.copyOf(this.moveBuffers, ply + 1);
+        }
+        if (this.moveBuffers[ply] == null) {
+            this.moveBuffers[ply] = new int[SearchBoard.MAX_MOVES];
+        }
+        return this.moveBuffers[ply];
+    }
+
+    // the clock and stop signal are only read every 1024 nodes, a node costs far less than a millisecond
+    private boolean isOutOfBudget() {
+        return this.nodesSearched >= this.nodeLimit ||
+                ((this.nodesSearched & 1023) == 0 &&
+                        (System.currentTimeMillis() >= this.deadline || (this.stopSignal != null && this.stopSignal.get()))) ||
+                (this.sharedNodes != null && this.nodesSearched % SHARED_NODES_INTERVAL == 0 && isOutOfSharedBudget());
+    }
+
+    private boolean isOutOfSharedBudget() {
+        reportSharedNodes();
+        return this.sharedNodes.sum() >= this.sharedNodeLimit;
+    }
+
+    // adds the nodes since the last report to the shared count
+    private void reportSharedNodes() {
+        if (this.sharedNodes != null) {
+            this.sharedNodes.add(this.nodesSearched - this.reportedNodes);
+            this.reportedNodes = this.nodesSearched;
+        }
+    }
+
+    private static int sideToMoveSign(final SearchBoard board) {
+        return board.getSideToMove().isWhite() ? 1 : -1;
+    }
+}
@@ -1,8 +1,17 @@
 package com.chess.engine.player.ai;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
 
 public interface BoardEvaluator {
 
     int evaluate(Board board, int depth);
+
+    /**
+     * Same score for the mutable search position. The default goes through an immutable copy;
+     * evaluators used in search should work on the SearchBoard directly.
+     */
+    default int evaluate(SearchBoard board, int depth) {
+        return evaluate(board.toBoard(), depth);
+    }
 }
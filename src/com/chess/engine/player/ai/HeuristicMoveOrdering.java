@@ -0,0 +1,216 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.pgn.FenUtilities;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * The usual move order of a chess search:
+ *
+ *   1. the hash move, best move of an earlier search of the same position
+ *   2. captures and promotions, most valuable victim first and then least valuable attacker
+ *   3. killer moves, quiet moves that caused a cutoff at the same ply in a sibling node
+ *   4. the other quiet moves by their history, how often and how deep they caused cutoffs
+ *
+ * Each stage can be left out, which main uses to show what it saves.
+ */
+public final class HeuristicMoveOrdering implements MoveOrdering {
+
+    public enum Heuristic {
+        HASH_MOVE,
+        MVV_LVA,
+        KILLERS,
+        HISTORY
+    }
+
+    private static final int HASH_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int KILLER_SCORE = 1 << 27;
+    private static final int HISTORY_LIMIT = 1 << 26; // history never reaches the killers
+    private static final int KILLERS_PER_PLY = 2;
+    private static final int HISTORY_NOISE = 16; // below the depth * depth of a few cutoffs
+
+    private final boolean useHashMove;
+    private final boolean useMvvLva;
+    private final boolean useKillers;
+    private final boolean useHistory;
+
+    private int[][] killers = new int[0][]; // [ply][slot], newest first
+    private final int[][][] history = new int[2][BoardUtils.NUM_TILES][BoardUtils.NUM_TILES]; // [side][from][to]
+    private final int[] scores = new int[SearchBoard.MAX_MOVES];
+
+    public HeuristicMoveOrdering() {
+        this(EnumSet.allOf(Heuristic.class));
+    }
+
+    public HeuristicMoveOrdering(final Set<Heuristic> heuristics) {
+        this.useHashMove = heuristics.contains(Heuristic.HASH_MOVE);
+        this.useMvvLva = heuristics.contains(Heuristic.MVV_LVA);
+        this.useKillers = heuristics.contains(Heuristic.KILLERS);
+        this.useHistory = heuristics.contains(Heuristic.HISTORY);
+    }
+
+    @Override
+    public void orderMoves(final SearchBoard board,
+                           final int[] moves,
+                           final int numMoves,
+                           final int hashMove) {
+        final int[] killers = this.useKillers ? killersAt(board.getPly()) : null;
+        final int[][] history = this.history[board.getSideToMove().ordinal()];
+        for (int i = 0; i < numMoves; i++) {
+            this.scores[i] = score(moves[i], hashMove, killers, history);
+        }
+        // insertion sort, the lists are short and moves of equal score keep their generated order
+        for (int i = 1; i < numMoves; i++) {
+            final int move = moves[i];
+            final int score = this.scores[i];
+            int j = i - 1;
+            while (j >= 0 && this.scores[j] < score) {
+                moves[j + 1] = moves[j];
+                this.scores[j + 1] = this.scores[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            this.scores[j + 1] = score;
+        }
+    }
+
+    private int score(final int move,
+                      final int hashMove,
+                      final int[] killers,
+                      final int[][] history) {
+        if (this.useHashMove && hashMove != PackedMove.NONE && PackedMove.core(move) == hashMove) {
+            return HASH_MOVE_SCORE;
+        }
+        if (this.useMvvLva && !isQuiet(move)) {
+            int gain = PackedMove.isCapture(move) ? PackedMove.capturedPiece(move).getPieceValue() : 0;
+            if (PackedMove.isPromotion(move)) {
+                gain += PackedMove.promotionType(move).getPieceValue();
+            }
+            // victim first: scaled victims are 2000 or more apart, knight and bishop tying, while
+            // the attacker takes off at most 1000 (the king), so it only orders equal victims
+            return CAPTURE_SCORE + gain * 10 - PackedMove.movedPiece(move).getPieceValue() / 10;
+        }
+        if (killers != null) {
+            for (int slot = 0; slot < KILLERS_PER_PLY; slot++) {
+                if (killers[slot] == move) {
+                    return KILLER_SCORE - slot;
+                }
+            }
+        }
+        return this.useHistory ? history[PackedMove.from(move)][PackedMove.to(move)] : 0;
+    }
+
+    @Override
+    public void recordCutoff(final SearchBoard board,
+                             final int move,
+                             final int depth) {
+        if (!isQuiet(move)) {
+            return; // captures are ordered well already
+        }
+        if (this.useKillers) {
+            final int[] killers = killersAt(board.getPly());
+            if (killers[0] != move) {
+                System.arraycopy(killers, 0, killers, 1, KILLERS_PER_PLY - 1);
+                killers[0] = move;
+            }
+        }
+        if (this.useHistory) {
+            final int[][] history = this.history[board.getSideToMove().ordinal()];
+            history[PackedMove.from(move)][PackedMove.to(move)] += depth * depth;
+            if (history[PackedMove.from(move)][PackedMove.to(move)] >= HISTORY_LIMIT) {
+                for (final int[] fromSquare : history) { // keep the proportions, lose the overflow
+                    for (int to = 0; to < fromSquare.length; to++) {
+                        fromSquare[to] /= 2;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void newSearch() {
+        for (final int[] plyKillers : this.killers) {
+            Arrays.fill(plyKillers, PackedMove.NONE);
+        }
+        for (final int[][] sideHistory : this.history) {
+            for (final int[] fromSquare : sideHistory) {
+                Arrays.fill(fromSquare, 0);
+            }
+        }
+    }
+
+    /**
+     * Starts the history off with small random values instead of zeros, so that threads which
+     * search the same position order their quiet moves differently until real cutoffs take over.
+     */
+    void seedHistory(final long seed) {
+        final Random random = new Random(seed);
+        for (final int[][] sideHistory : this.history) {
+            for (final int[] fromSquare : sideHistory) {
+                for (int to = 0; to < fromSquare.length; to++) {
+                    fromSquare[to] = random.nextInt(HISTORY_NOISE);
+                }
+            }
+        }
+    }
+
+    private int[] killersAt(final int ply) {
+        if (ply >= this.killers.length) {
+            final int oldLength = this.killers.length;
+            this.killers = Arrays.copyOf(this.killers, ply + 1);
+            for (int i = oldLength; i <= ply; i++) {
+                this.killers[i] = new int[KILLERS_PER_PLY];
+            }
+        }
+        return this.killers[ply];
+    }
+
+    private static boolean isQuiet(final int move) {
+        return !PackedMove.isCapture(move) && !PackedMove.isPromotion(move);
+    }
+
+    /**
+     * Searches a few positions depth by depth, as IterativeDeepening does, once per set of
+     * heuristics, adding one stage at a time, and prints the nodes each set needed.
+     */
+    public static void main(final String[] args) {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        final String[] positions = {
+                "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+                "r1bq1rk1/pp2bppp/2n1pn2/2pp4/2PP4/2N1PN2/PP2BPPP/R1BQ1RK1 w - - 0 8"
+        };
+        final EnumSet<Heuristic> heuristics = EnumSet.noneOf(Heuristic.class);
+        System.out.println("none: " + countNodes(positions, depth, MoveOrdering.GENERATION_ORDER) + " nodes");
+        for (final Heuristic heuristic : Heuristic.values()) {
+            heuristics.add(heuristic);
+            System.out.println("+ " + heuristic + ": " +
+                    countNodes(positions, depth, new HeuristicMoveOrdering(heuristics)) + " nodes");
+        }
+    }
+
+    private static long countNodes(final String[] positions,
+                                   final int depth,
+                                   final MoveOrdering moveOrdering) {
+        long nodes = 0;
+        for (final String fen : positions) {
+            final Board board = FenUtilities.createGameFromFEN(fen);
+            final TranspositionTable transpositionTable = new TranspositionTable(16);
+            moveOrdering.newSearch();
+            for (int d = 1; d <= depth; d++) {
+                final AlphaBeta search = new AlphaBeta(new StandardBoardEvaluator(), d, transpositionTable, moveOrdering);
+                search.search(board);
+                nodes += search.getNodesSearched();
+            }
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,207 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.pgn.FenUtilities;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Searches depth 1, 2, 3 and on with AlphaBeta until the SearchLimits run out, and plays the
+ * best move of the deepest search that finished. A search cut short by the budget is thrown
+ * away, so the move is always backed by a complete search. The shared transposition table
+ * carries each iteration's results into the next, which keeps the repeated shallow searches cheap.
+ * Each iteration runs with AlphaBeta.DEFAULT_FEATURES unless given other features.
+ */
+public class IterativeDeepening implements MoveStrategy {
+
+    private static final int DEFAULT_TABLE_SIZE_MB = 16;
+
+    private final BoardEvaluator boardEvaluator;
+    private final SearchLimits searchLimits;
+    private final TranspositionTable transpositionTable;
+    private final MoveOrdering moveOrdering; // killers and history carry over from depth to depth
+    private final Set<AlphaBeta.Feature> features;
+    private long nodesSearched;
+    private int completedDepth;
+    private SearchStats searchStats;
+    private LongAdder sharedNodes; // counts the nodes of LazySmp's helpers too, null when searching alone
+
+    public IterativeDeepening(final SearchLimits searchLimits) {
+        this(new StandardBoardEvaluator(), searchLimits, new TranspositionTable(DEFAULT_TABLE_SIZE_MB));
+    }
+
+    public IterativeDeepening(final BoardEvaluator boardEvaluator,
+                              final SearchLimits searchLimits,
+                              final TranspositionTable transpositionTable) {
+        this(boardEvaluator, searchLimits, transpositionTable, new HeuristicMoveOrdering());
+    }
+
+    public IterativeDeepening(final BoardEvaluator boardEvaluator,
+                              final SearchLimits searchLimits,
+                              final TranspositionTable transpositionTable,
+                              final MoveOrdering moveOrdering) {
+        this(boardEvaluator, searchLimits, transpositionTable, moveOrdering, AlphaBeta.DEFAULT_FEATURES);
+    }
+
+    public IterativeDeepening(final BoardEvaluator boardEvaluator,
+                              final SearchLimits searchLimits,
+                              final TranspositionTable transpositionTable,
+                              final MoveOrdering moveOrdering,
+                              final Set<AlphaBeta.Feature> features) {
+        this.boardEvaluator = boardEvaluator;
+        this.searchLimits = searchLimits;
+        this.transpositionTable = transpositionTable;
+        this.moveOrdering = moveOrdering;
+        this.features = features;
+    }
+
+    @Override
+    public String toString() {
+        return "IterativeDeepening";
+    }
+
+    public long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    public int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    @Override
+    public SearchStats getSearchStats() {
+        return this.searchStats;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+
+        System.out.println(board.currentPlayer() + " THINKING with " + this.searchLimits);
+
+        this.transpositionTable.newSearch();
+        final Move bestMove = search(board);
+
+        printIterations(this.searchStats);
+        System.out.println(board.currentPlayer() + " SELECTS " + bestMove + " " + this.searchStats);
+
+        return bestMove;
+    }
+
+    Move search(final Board board) {
+        final long startTime = System.currentTimeMillis();
+        final long deadline = this.searchLimits.deadlineFrom(startTime);
+        this.nodesSearched = 0;
+        this.completedDepth = 0;
+        this.moveOrdering.newSearch();
+        final long probes = this.transpositionTable.getProbes();
+        final long hits = this.transpositionTable.getHits();
+        final SearchStats.Builder stats = new SearchStats.Builder();
+        int selectiveDepth = 0;
+
+        Move bestMove = null;
+        for (int depth = 1; depth <= this.searchLimits.getMaxDepth(); depth++) {
+            final long iterationStart = System.currentTimeMillis();
+            final AlphaBeta search = new AlphaBeta(this.boardEvaluator, depth, this.transpositionTable,
+                    this.moveOrdering, this.features);
+            if (depth > 1) {
+                // depth 1 always runs to the end, there has to be some move to play
+                search.setBudget(this.searchLimits.getMaxNodes() - this.nodesSearched, deadline);
+            }
+            if (this.sharedNodes != null) {
+                search.setSharedBudget(this.sharedNodes, depth > 1 ? this.searchLimits.getMaxNodes() : SearchLimits.NO_NODE_LIMIT);
+            }
+            final Move move = search.search(board);
+            this.nodesSearched += search.getNodesSearched();
+            selectiveDepth = Math.max(selectiveDepth, search.getSelectiveDepth());
+            stats.addCutoffs(search.getBetaCutoffs(), search.getFirstMoveCutoffs())
+                    .addIteration(System.currentTimeMillis() - iterationStart);
+            if (search.wasAborted()) {
+                break;
+            }
+            bestMove = move;
+            this.completedDepth = depth;
+            if (bestMove == null || this.nodesSearched >= this.searchLimits.getMaxNodes() ||
+                    (this.sharedNodes != null && this.sharedNodes.sum() >= this.searchLimits.getMaxNodes()) ||
+                    isTooLateForNextDepth(startTime, deadline)) {
+                break;
+            }
+        }
+        this.searchStats = stats
+                .setBestMove(bestMove)
+                .setDepth(this.completedDepth)
+                .setSelectiveDepth(selectiveDepth)
+                .setNodesSearched(this.nodesSearched)
+                .setElapsedMillis(System.currentTimeMillis() - startTime)
+                .setTranspositionCounts(this.transpositionTable.getProbes() - probes, this.transpositionTable.getHits() - hits)
+                .setPrincipalVariation(SearchStats.principalVariation(board, bestMove, this.transpositionTable,
+                        this.completedDepth))
+                .build();
+        return bestMove;
+    }
+
+    // the node budget then covers every search adding to sharedNodes, not just this one
+    void setSharedNodes(final LongAdder sharedNodes) {
+        this.sharedNodes = sharedNodes;
+    }
+
+    static void printIterations(final SearchStats searchStats) {
+        final List<Long> iterationMillis = searchStats.getIterationMillis();
+        for (int i = 0; i < iterationMillis.size(); i++) {
+            System.out.println("  depth " + (i + 1) + ": " + iterationMillis.get(i) + " ms");
+        }
+    }
+
+    // the next depth costs several times the last one, so past half the budget it will not finish
+    static boolean isTooLateForNextDepth(final long startTime,
+                                         final long deadline) {
+        final long now = System.currentTimeMillis();
+        return now >= deadline || now - startTime >= (deadline - startTime) / 2;
+    }
+
+    /**
+     * Gives a few positions the same time per set of features, quiescence alone, with each
+     * pruning feature added on its own and with all of them, and prints the depth each reached
+     * and the nodes per second.
+     */
+    public static void main(final String[] args) {
+        final long millis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+        final String[] positions = {
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -",
+                "r1bq1rk1/pp2bppp/2n1pn2/2pp4/2PP4/2N1PN2/PP2BPPP/R1BQ1RK1 w - - 0 8",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -"
+        };
+        final List<Set<AlphaBeta.Feature>> featureSets = new ArrayList<>();
+        featureSets.add(AlphaBeta.DEFAULT_FEATURES);
+        for (final AlphaBeta.Feature feature : EnumSet.complementOf(EnumSet.copyOf(AlphaBeta.DEFAULT_FEATURES))) {
+            final Set<AlphaBeta.Feature> features = EnumSet.copyOf(AlphaBeta.DEFAULT_FEATURES);
+            features.add(feature);
+            featureSets.add(features);
+        }
+        featureSets.add(AlphaBeta.SELECTIVE_FEATURES);
+        // warm up the JIT so the first set is not timed cold
+        new IterativeDeepening(new PieceSquareEvaluator(), new SearchLimits(64, SearchLimits.NO_NODE_LIMIT, millis),
+                new TranspositionTable(DEFAULT_TABLE_SIZE_MB)).search(FenUtilities.createGameFromFEN(positions[0]));
+        final StringBuilder report = new StringBuilder();
+        for (final Set<AlphaBeta.Feature> features : featureSets) {
+            report.append(features).append(':');
+            for (final String fen : positions) {
+                final IterativeDeepening search = new IterativeDeepening(new PieceSquareEvaluator(),
+                        new SearchLimits(64, SearchLimits.NO_NODE_LIMIT, millis), new TranspositionTable(DEFAULT_TABLE_SIZE_MB),
+                        new HeuristicMoveOrdering(), features);
+                final long startTime = System.currentTimeMillis();
+                search.search(FenUtilities.createGameFromFEN(fen));
+                final long elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+                report.append(String.format(" depth %d at %d knps,", search.getCompletedDepth(),
+                        search.getNodesSearched() / elapsed));
+            }
+            report.setLength(report.length() - 1);
+            report.append('\n');
+        }
+        System.out.print(report);
+    }
+}
@@ -0,0 +1,215 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.pgn.FenUtilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lazy SMP: the calling thread runs an ordinary IterativeDeepening search while helper threads
+ * search the same position on their own, all through one shared TranspositionTable. The helpers
+ * never hand back a move. What they leave in the table lets the main search cut off lines it
+ * would otherwise have to search itself. Helpers that searched the same tree would only repeat
+ * each other, so each one differs from its siblings: by helper index they start zero, one or
+ * two plies ahead of the main search, which tends to fill in the deeper entries it is about to
+ * need, begin their root on a different move and seed their history differently. Nothing is
+ * synchronized besides the lock-free table and a stop flag raised when the main search ends.
+ */
+public class LazySmp implements MoveStrategy {
+
+    // shared by every LazySmp, so a search reuses the threads of the last one instead of starting
+    // its own; idle threads end after a minute, and being daemons they never keep the JVM alive
+    private static final ExecutorService HELPER_POOL = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "LazySmp helper");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final int HELPER_DEPTH_OFFSETS = 3; // helper i starts i % 3 plies ahead of the main search
+
+    private final BoardEvaluator boardEvaluator;
+    private final SearchLimits searchLimits;
+    private final TranspositionTable transpositionTable;
+    private final int threads;
+    private long nodesSearched;
+    private int completedDepth;
+    private SearchStats searchStats;
+
+    public LazySmp(final SearchLimits searchLimits,
+                   final int threads) {
+        this(new StandardBoardEvaluator(), searchLimits, new TranspositionTable(64), threads);
+    }
+
+    public LazySmp(final BoardEvaluator boardEvaluator,
+                   final SearchLimits searchLimits,
+                   final TranspositionTable transpositionTable,
+                   final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Search needs at least one thread, got " + threads);
+        }
+        this.boardEvaluator = boardEvaluator;
+        this.searchLimits = searchLimits;
+        this.transpositionTable = transpositionTable;
+        this.threads = threads;
+    }
+
+    @Override
+    public String toString() {
+        return "LazySmp";
+    }
+
+    // nodes of the main search and all helpers together
+    public long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    public int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    // depth and principal variation are the main search's, the counts those of all threads together
+    @Override
+    public SearchStats getSearchStats() {
+        return this.searchStats;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+
+        System.out.println(board.currentPlayer() + " THINKING with " + this.searchLimits + ", threads = " + this.threads);
+
+        this.transpositionTable.newSearch();
+        final Move bestMove = search(board);
+
+        System.out.println(board.currentPlayer() + " SELECTS " + bestMove + " " + this.searchStats + " " +
+                this.transpositionTable);
+
+        return bestMove;
+    }
+
+    Move search(final Board board) {
+        final long startTime = System.currentTimeMillis();
+        final long probes = this.transpositionTable.getProbes();
+        final long hits = this.transpositionTable.getHits();
+        final AtomicBoolean stopSignal = new AtomicBoolean();
+        final HelperCounts helperCounts = new HelperCounts();
+        final LongAdder sharedNodes = new LongAdder(); // all threads, counted as they go against the node budget
+        final List<Future<?>> helpers = new ArrayList<>();
+        for (int i = 1; i < this.threads; i++) {
+            final int helper = i;
+            helpers.add(HELPER_POOL.submit(() -> runHelper(board, helper, stopSignal, helperCounts, sharedNodes)));
+        }
+
+        final IterativeDeepening mainSearch = new IterativeDeepening(this.boardEvaluator, this.searchLimits,
+                this.transpositionTable);
+        mainSearch.setSharedNodes(sharedNodes);
+        final Move bestMove;
+        try {
+            bestMove = mainSearch.search(board);
+        } finally {
+            stopSignal.set(true);
+            awaitHelpers(helpers);
+        }
+        this.completedDepth = mainSearch.getCompletedDepth();
+        this.nodesSearched = mainSearch.getNodesSearched() + helperCounts.nodes.sum();
+        final SearchStats mainStats = mainSearch.getSearchStats();
+        this.searchStats = new SearchStats.Builder(mainStats)
+                .setNodesSearched(this.nodesSearched)
+                .setElapsedMillis(System.currentTimeMillis() - startTime)
+                .setSelectiveDepth(Math.max(mainStats.getSelectiveDepth(), (int) helperCounts.selectiveDepth.get()))
+                .addCutoffs(helperCounts.betaCutoffs.sum(), helperCounts.firstMoveCutoffs.sum())
+                .setTranspositionCounts(this.transpositionTable.getProbes() - probes, this.transpositionTable.getHits() - hits)
+                .build();
+        return bestMove;
+    }
+
+    private void runHelper(final Board board,
+                           final int helper,
+                           final AtomicBoolean stopSignal,
+                           final HelperCounts helperCounts,
+                           final LongAdder sharedNodes) {
+        final HeuristicMoveOrdering moveOrdering = new HeuristicMoveOrdering(); // killers and history are per thread
+        moveOrdering.seedHistory(helper);
+        final int firstDepth = 1 + helper % HELPER_DEPTH_OFFSETS;
+        for (int depth = firstDepth; depth <= this.searchLimits.getMaxDepth() && !stopSignal.get(); depth++) {
+            final AlphaBeta search = new AlphaBeta(this.boardEvaluator, depth, this.transpositionTable, moveOrdering,
+                    AlphaBeta.DEFAULT_FEATURES);
+            search.setStopSignal(stopSignal);
+            search.setRootRotation(helper);
+            search.setSharedBudget(sharedNodes, this.searchLimits.getMaxNodes());
+            search.search(board);
+            helperCounts.add(search);
+            if (search.wasAborted()) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Gives the same position the same time with 1, 2, 4 ... threads up to the number of
+     * processors and prints the depth the main search completed and the nodes per second of
+     * all threads together. Depth reached in a fixed time is what more threads should buy.
+     */
+    public static void main(final String[] args) {
+        final long millis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+        final int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final StringBuilder fen = new StringBuilder();
+        for (int i = 2; i < args.length; i++) {
+            fen.append(args[i]).append(" ");
+        }
+        final Board board = fen.length() == 0 ? Board.createStandardBoard() :
+                FenUtilities.createGameFromFEN(fen.toString());
+        final SearchLimits searchLimits = new SearchLimits(64, SearchLimits.NO_NODE_LIMIT, millis);
+        // warm up the JIT so one thread is not timed cold
+        new LazySmp(new StandardBoardEvaluator(), searchLimits, new TranspositionTable(64), maxThreads).search(board);
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            final LazySmp strategy = new LazySmp(new StandardBoardEvaluator(), searchLimits, new TranspositionTable(64),
+                    threads);
+            final long startTime = System.currentTimeMillis();
+            final Move move = strategy.search(board);
+            final long time = Math.max(1, System.currentTimeMillis() - startTime);
+            System.out.println(String.format("threads = %2d  move = %-6s depth = %2d  nodes = %10d  knps = %6d",
+                    threads, move, strategy.getCompletedDepth(), strategy.getNodesSearched(),
+                    strategy.getNodesSearched() / time));
+        }
+    }
+
+    // what all helpers searched together, for the SearchStats
+    private static final class HelperCounts {
+
+        private final LongAdder nodes = new LongAdder();
+        private final LongAdder betaCutoffs = new LongAdder();
+        private final LongAdder firstMoveCutoffs = new LongAdder();
+        private final LongAccumulator selectiveDepth = new LongAccumulator(Math::max, 0);
+
+        void add(final AlphaBeta search) {
+            this.nodes.add(search.getNodesSearched());
+            this.betaCutoffs.add(search.getBetaCutoffs());
+            this.firstMoveCutoffs.add(search.getFirstMoveCutoffs());
+            this.selectiveDepth.accumulate(search.getSelectiveDepth());
+        }
+    }
+
+    // the helpers only return once they see the stop signal, which comes within 1024 nodes
+    private static void awaitHelpers(final List<Future<?>> helpers) {
+        try {
+            for (final Future<?> helper : helpers) {
+                helper.get(1, TimeUnit.MINUTES);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException | TimeoutException e) {
+            throw new RuntimeException("Lazy SMP helper failed", e);
+        }
+    }
+}
@@ -8,19 +8,46 @@ public class MiniMax implements MoveStrategy{
 
     private final BoardEvaluator boardEvaluator;
     public int depth;
+    private long nodesSearched;
+    private int selectiveDepth; // furthest ply reached, short of depth when every line ends in mate
+    private SearchStats searchStats;
 
-    public MiniMax(int i){
+    public MiniMax(final int depth){
         this.boardEvaluator = new StandardBoardEvaluator();
+        this.depth = depth;
     }
     @Override
     public String toString(){
         return "MiniMax";
     }
 
+    public long getNodesSearched(){
+        return this.nodesSearched;
+    }
+
+    @Override
+    public SearchStats getSearchStats(){
+        return this.searchStats;
+    }
+
     @Override
     public Move execute(Board board){
 
+        System.out.println(board.currentPlayer() + " THINKING with depth = " + depth);
+
+        final Move bestMove = search(board);
+
+        System.out.println(board.currentPlayer() + " SELECTS " + bestMove + " " + this.searchStats);
+
+        return bestMove;
+    }
+
+    // execute without the console output, for timing the search alone
+    public Move search(final Board board){
+
         final long startTime = System.currentTimeMillis();
+        this.nodesSearched = 0;
+        this.selectiveDepth = 0;
 
         Move bestMove = null;
 
@@ -28,8 +55,6 @@ public class MiniMax implements MoveStrategy{
         int lowestSeenValue = Integer.MAX_VALUE;
         int currentValue;
 
-        System.out.println(board.currentPlayer() + " THINKING with depth = " + depth);
-
         int numMoves = board.currentPlayer().getLegalMoves().size();
 
         for(final Move move : board.currentPlayer().getLegalMoves()){
@@ -50,11 +75,22 @@ public class MiniMax implements MoveStrategy{
             }
         }
         final long executionTime = System.currentTimeMillis() - startTime;
+        this.searchStats = new SearchStats.Builder()
+                .setBestMove(bestMove)
+                .setDepth(depth)
+                .setSelectiveDepth(this.selectiveDepth)
+                .setNodesSearched(this.nodesSearched)
+                .setElapsedMillis(executionTime)
+                .setPrincipalVariation(SearchStats.principalVariation(board, bestMove, null, depth))
+                .addIteration(executionTime)
+                .build();
 
         return bestMove;
     }
 
     public int min(final Board board, final int depth){
+        this.nodesSearched++;
+        this.selectiveDepth = Math.max(this.selectiveDepth, this.depth - depth);
 
         if (depth == 0 || isEndGameScenario(board)) {
             return this.boardEvaluator.evaluate(board,depth);
@@ -74,6 +110,8 @@ public class MiniMax implements MoveStrategy{
     }
 
     public int max(final Board board, final int depth){
+        this.nodesSearched++;
+        this.selectiveDepth = Math.max(this.selectiveDepth, this.depth - depth);
         if (depth == 0 || isEndGameScenario(board)) {
             return this.boardEvaluator.evaluate(board,depth);
         }
@@ -93,7 +131,7 @@ public class MiniMax implements MoveStrategy{
     }
 
     private boolean isEndGameScenario(Board board) {
-        return board.currentPlayer().isInCheckmate() || board.currentPlayer().isInStealMate();
+        return board.getGameStatus().isGameOver();
     }
 
 
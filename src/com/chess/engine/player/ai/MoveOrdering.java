@@ -0,0 +1,28 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.SearchBoard;
+
+/**
+ * Decides the order in which AlphaBeta tries the moves of a node below the root. Alpha-beta
+ * prunes most when the best move comes first, so a good order changes only how many nodes are
+ * searched, never the score. One instance belongs to one search thread.
+ */
+public interface MoveOrdering {
+
+    // the order SearchBoard.generateLegalMoves writes them in
+    MoveOrdering GENERATION_ORDER = (board, moves, numMoves, hashMove) -> { };
+
+    /**
+     * Sorts moves[0 .. numMoves) of the side to move on board, best first. hashMove is the core
+     * of the move the TranspositionTable remembers for the position, or PackedMove.NONE.
+     */
+    void orderMoves(SearchBoard board, int[] moves, int numMoves, int hashMove);
+
+    // move, not yet made on board, refuted the opponent's last move with depth plies left
+    default void recordCutoff(SearchBoard board, int move, int depth) {
+    }
+
+    // forgets what the last search learned, call before a new one
+    default void newSearch() {
+    }
+}
@@ -6,4 +6,7 @@ import com.chess.engine.board.Move;
 public interface MoveStrategy {
 
     Move execute(Board board);
+
+    // of the last execute, null before the first
+    SearchStats getSearchStats();
 }
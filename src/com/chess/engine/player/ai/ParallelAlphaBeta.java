@@ -0,0 +1,214 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.pgn.FenUtilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AlphaBeta with the root moves spread over a ForkJoinPool. The first root move is searched
+ * alone to get a bound (young brothers wait); the rest then run in parallel, each starting from
+ * the best score found so far by any worker.
+ *
+ * The move played does not depend on thread timing: a worker only ever narrows its window to
+ * one below a score some move really has, so every move that could be best or tie for best
+ * still gets an exact score, and ties go to the last move as in AlphaBeta and MiniMax. No
+ * transposition table is used, since a shared one would make scores depend on timing.
+ */
+public class ParallelAlphaBeta implements MoveStrategy {
+
+    private final BoardEvaluator boardEvaluator;
+    private final int depth;
+    private final int parallelism;
+    private long nodesSearched;
+    private SearchStats searchStats;
+
+    public ParallelAlphaBeta(final int depth,
+                             final int parallelism) {
+        this(new StandardBoardEvaluator(), depth, parallelism);
+    }
+
+    public ParallelAlphaBeta(final BoardEvaluator boardEvaluator,
+                             final int depth,
+                             final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Search needs at least one thread, got " + parallelism);
+        }
+        this.boardEvaluator = boardEvaluator;
+        this.depth = depth;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public String toString() {
+        return "ParallelAlphaBeta";
+    }
+
+    public long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    @Override
+    public SearchStats getSearchStats() {
+        return this.searchStats;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+
+        System.out.println(board.currentPlayer() + " THINKING with depth = " + this.depth +
+                ", threads = " + this.parallelism);
+
+        final Move bestMove = search(board);
+
+        System.out.println(board.currentPlayer() + " SELECTS " + bestMove + " " + this.searchStats);
+
+        return bestMove;
+    }
+
+    // execute without the console output, for timing the search alone
+    public Move search(final Board board) {
+        final long startTime = System.currentTimeMillis();
+        final AtomicInteger sharedBestValue = new AtomicInteger(-AlphaBeta.INFINITY);
+        final List<RootMoveTask> tasks = new ArrayList<>();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final int packedMove = PackedMove.of(move);
+            if (searchBoard.makeMove(packedMove)) { // only tried here, every task plays it on its own SearchBoard
+                searchBoard.unmakeMove();
+                tasks.add(new RootMoveTask(move, board, packedMove, sharedBestValue));
+            }
+        }
+        this.nodesSearched = 0;
+        if (tasks.isEmpty()) {
+            this.searchStats = stats(board, startTime, null, tasks);
+            return null;
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            pool.invoke(tasks.get(0));
+            for (final RootMoveTask task : tasks.subList(1, tasks.size())) {
+                pool.execute(task);
+            }
+            for (final RootMoveTask task : tasks) {
+                task.join();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Move bestMove = null;
+        int bestValue = -AlphaBeta.INFINITY;
+        for (final RootMoveTask task : tasks) {
+            this.nodesSearched += task.nodesSearched;
+            if (task.isExact() && (bestMove == null || task.value >= bestValue)) {
+                bestValue = task.value;
+                bestMove = task.move;
+            }
+        }
+        this.searchStats = stats(board, startTime, bestMove, tasks);
+        return bestMove;
+    }
+
+    private SearchStats stats(final Board board,
+                              final long startTime,
+                              final Move bestMove,
+                              final List<RootMoveTask> tasks) {
+        final long executionTime = System.currentTimeMillis() - startTime;
+        final SearchStats.Builder builder = new SearchStats.Builder()
+                .setBestMove(bestMove)
+                .setDepth(this.depth)
+                .setNodesSearched(this.nodesSearched)
+                .setElapsedMillis(executionTime)
+                .setPrincipalVariation(SearchStats.principalVariation(board, bestMove, null, this.depth))
+                .addIteration(executionTime);
+        int selectiveDepth = 0;
+        for (final RootMoveTask task : tasks) {
+            selectiveDepth = Math.max(selectiveDepth, task.selectiveDepth);
+            builder.addCutoffs(task.betaCutoffs, task.firstMoveCutoffs);
+        }
+        return builder.setSelectiveDepth(selectiveDepth).build();
+    }
+
+    private final class RootMoveTask extends RecursiveAction {
+
+        private final Move move;
+        private final Board board;
+        private final int packedMove;
+        private final AtomicInteger sharedBestValue;
+        private int alpha;
+        private int value;
+        private long nodesSearched;
+        private int selectiveDepth;
+        private long betaCutoffs;
+        private long firstMoveCutoffs;
+
+        RootMoveTask(final Move move,
+                     final Board board,
+                     final int packedMove,
+                     final AtomicInteger sharedBestValue) {
+            this.move = move;
+            this.board = board;
+            this.packedMove = packedMove;
+            this.sharedBestValue = sharedBestValue;
+        }
+
+        boolean isExact() {
+            return this.value > this.alpha;
+        }
+
+        @Override
+        protected void compute() {
+            final int bestSoFar = this.sharedBestValue.get();
+            // one below the best so far, so a move that ties it still gets an exact score
+            this.alpha = bestSoFar == -AlphaBeta.INFINITY ? -AlphaBeta.INFINITY : bestSoFar - 1;
+            final AlphaBeta search = new AlphaBeta(boardEvaluator, depth);
+            this.value = search.searchRootMove(this.board, this.packedMove, this.alpha);
+            this.nodesSearched = search.getNodesSearched();
+            this.selectiveDepth = search.getSelectiveDepth();
+            this.betaCutoffs = search.getBetaCutoffs();
+            this.firstMoveCutoffs = search.getFirstMoveCutoffs();
+            this.sharedBestValue.accumulateAndGet(this.value, Math::max);
+        }
+    }
+
+    /**
+     * Times the same search with 1, 2, 4 ... threads up to the number of processors and prints
+     * the wall clock speedup over one thread.
+     */
+    public static void main(final String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: ParallelAlphaBeta <depth> [max threads] [fen]");
+            return;
+        }
+        final int depth = Integer.parseInt(args[0]);
+        final int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final StringBuilder fen = new StringBuilder();
+        for (int i = 2; i < args.length; i++) {
+            fen.append(args[i]).append(" ");
+        }
+        final Board board = fen.length() == 0 ? Board.createStandardBoard() :
+                FenUtilities.createGameFromFEN(fen.toString());
+        new ParallelAlphaBeta(depth, 1).search(board); // warm up the JIT so one thread is not timed cold
+        long singleThreadTime = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            final ParallelAlphaBeta strategy = new ParallelAlphaBeta(depth, threads);
+            final long startTime = System.nanoTime();
+            final Move move = strategy.search(board);
+            final long time = System.nanoTime() - startTime;
+            if (threads == 1) {
+                singleThreadTime = time;
+            }
+            System.out.println(String.format("threads = %2d  move = %-6s nodes = %10d  time = %7d ms  speedup = %.2f",
+                    threads, move, strategy.getNodesSearched(), time / 1_000_000, (double) singleThreadTime / time));
+        }
+    }
+}
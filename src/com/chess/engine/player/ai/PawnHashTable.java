@@ -0,0 +1,139 @@
+package com.chess.engine.player.ai;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed size hash of pawn structure evaluations keyed by SearchBoard.getPawnKey, the Zobrist key
+ * of the pawns alone. Pawn skeletons repeat across most of a search tree, so an evaluator finds
+ * nearly all of them here and works out the structure only on a miss. Like TranspositionTable
+ * every slot is two longs, the packed entry and the key XOR-ed with it, and threads share one
+ * table without locks; a torn slot fails the XOR check and reads as a miss.
+ *
+ * Packed entry layout (low to high bits), scores from white's point of view:
+ *   0-15  middlegame score
+ *  16-31  endgame score
+ *  32-39  files with a white passed pawn, the most advanced white pawn of the file
+ *  40-47  files with a black passed pawn, likewise
+ *  48     set in every stored entry, so an empty slot never matches
+ */
+public final class PawnHashTable {
+
+    public static final long NO_ENTRY = 0L;
+
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    private static final long STORED = 1L << 48;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int indexMask;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+    public PawnHashTable(final int sizeInMegabytes) {
+        if (sizeInMegabytes < 1) {
+            throw new IllegalArgumentException("Pawn hash table needs at least 1 MB, got " + sizeInMegabytes);
+        }
+        final long requestedEntries = (sizeInMegabytes * 1024L * 1024L) / BYTES_PER_ENTRY;
+        final int numEntries = (int) Math.min(Long.highestOneBit(requestedEntries), 1 << 30);
+        this.keys = new long[numEntries];
+        this.entries = new long[numEntries];
+        this.indexMask = numEntries - 1;
+    }
+
+    public long probe(final long pawnKey) {
+        this.probes.increment();
+        final int index = index(pawnKey);
+        final long entry = this.entries[index];
+        if (entry != NO_ENTRY) {
+            if ((this.keys[index] ^ entry) == pawnKey) {
+                this.hits.increment();
+                return entry;
+            }
+            this.collisions.increment();
+        }
+        return NO_ENTRY;
+    }
+
+    // always replaces, an entry costs little to compute again
+    public void store(final long pawnKey,
+                      final long entry) {
+        final int index = index(pawnKey);
+        this.entries[index] = entry;
+        this.keys[index] = pawnKey ^ entry;
+    }
+
+    public void clear() {
+        Arrays.fill(this.keys, 0L);
+        Arrays.fill(this.entries, 0L);
+        this.probes.reset();
+        this.hits.reset();
+        this.collisions.reset();
+    }
+
+    public int getNumEntries() {
+        return this.entries.length;
+    }
+
+    public long getProbes() {
+        return this.probes.sum();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getCollisions() {
+        return this.collisions.sum();
+    }
+
+    public double getHitRate() {
+        final long probes = getProbes();
+        return probes == 0 ? 0 : (double) getHits() / probes;
+    }
+
+    // share of probes that found the slot taken by another pawn structure, high means too small
+    public double getCollisionRate() {
+        final long probes = getProbes();
+        return probes == 0 ? 0 : (double) getCollisions() / probes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PawnHash[entries = %d, probes = %d, hit rate = %.1f%%, collision rate = %.1f%%]",
+                getNumEntries(), getProbes(), 100 * getHitRate(), 100 * getCollisionRate());
+    }
+
+    private int index(final long pawnKey) {
+        return (int) (pawnKey ^ (pawnKey >>> 32)) & this.indexMask;
+    }
+
+    public static long pack(final int middlegameScore,
+                            final int endgameScore,
+                            final int whitePassedFiles,
+                            final int blackPassedFiles) {
+        return (middlegameScore & 0xFFFFL) |
+                ((endgameScore & 0xFFFFL) << 16) |
+                ((long) whitePassedFiles << 32) |
+                ((long) blackPassedFiles << 40) |
+                STORED;
+    }
+
+    public static int middlegameScore(final long entry) {
+        return (short) entry;
+    }
+
+    public static int endgameScore(final long entry) {
+        return (short) (entry >>> 16);
+    }
+
+    public static int whitePassedFiles(final long entry) {
+        return (int) (entry >>> 32) & 0xFF;
+    }
+
+    public static int blackPassedFiles(final long entry) {
+        return (int) (entry >>> 40) & 0xFF;
+    }
+}
@@ -0,0 +1,150 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.BoardUtils;
+
+/**
+ * Pawn structure terms, middlegame and endgame, from white's point of view. evaluate looks at
+ * the pawns alone, so its result is what PawnHashTable keeps: doubled and isolated pawns cost,
+ * passed pawns earn more the further they got. The king's pawn shield and whether a passed pawn
+ * can move on depend on other pieces too and are added on every evaluation from the cached
+ * passed files and the pawn masks, which takes a few bit operations.
+ */
+final class PawnStructure {
+
+    private static final int WHITE = 0;
+    private static final int BLACK = 1;
+
+    private static final int DOUBLED_MIDDLEGAME = -10;
+    private static final int DOUBLED_ENDGAME = -20;
+    private static final int ISOLATED_MIDDLEGAME = -10;
+    private static final int ISOLATED_ENDGAME = -20;
+    // by rank counted from the pawn's own side, 1 being its starting rank
+    private static final int[] PASSED_MIDDLEGAME = {0, 5, 10, 15, 25, 40, 60, 0};
+    private static final int[] PASSED_ENDGAME = {0, 10, 20, 35, 60, 100, 150, 0};
+    private static final int FREE_PASSED_ENDGAME = 15; // nothing stands on the tile in front
+    private static final int SHIELD_NEAR = 10; // own pawn on the three tiles in front of the king
+    private static final int SHIELD_FAR = 5; // one rank further
+
+    private static final long[] FILES = new long[BoardUtils.NUM_TILES_PER_ROW];
+    private static final long[] ADJACENT_FILES = new long[BoardUtils.NUM_TILES_PER_ROW];
+    private static final long[][] FRONT_SPANS = new long[2][BoardUtils.NUM_TILES]; // own and adjacent files, ahead of the tile
+    private static final long[][] SHIELDS_NEAR = new long[2][BoardUtils.NUM_TILES];
+    private static final long[][] SHIELDS_FAR = new long[2][BoardUtils.NUM_TILES];
+
+    static {
+        for (int file = 0; file < BoardUtils.NUM_TILES_PER_ROW; file++) {
+            for (int row = 0; row < BoardUtils.NUM_TILES_PER_ROW; row++) {
+                FILES[file] |= BitBoard.squareMask(row * BoardUtils.NUM_TILES_PER_ROW + file);
+            }
+        }
+        for (int file = 0; file < BoardUtils.NUM_TILES_PER_ROW; file++) {
+            ADJACENT_FILES[file] = (file > 0 ? FILES[file - 1] : 0L) | (file < 7 ? FILES[file + 1] : 0L);
+        }
+        for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+            final int row = tile / BoardUtils.NUM_TILES_PER_ROW;
+            final long files = FILES[tile % BoardUtils.NUM_TILES_PER_ROW] | ADJACENT_FILES[tile % BoardUtils.NUM_TILES_PER_ROW];
+            for (int other = 0; other < BoardUtils.NUM_TILES; other++) {
+                final int otherRow = other / BoardUtils.NUM_TILES_PER_ROW;
+                final long mask = BitBoard.squareMask(other) & files;
+                if (otherRow < row) { // white moves towards row 0
+                    FRONT_SPANS[WHITE][tile] |= mask;
+                } else if (otherRow > row) {
+                    FRONT_SPANS[BLACK][tile] |= mask;
+                }
+                if (otherRow == row - 1) {
+                    SHIELDS_NEAR[WHITE][tile] |= mask;
+                } else if (otherRow == row - 2) {
+                    SHIELDS_FAR[WHITE][tile] |= mask;
+                } else if (otherRow == row + 1) {
+                    SHIELDS_NEAR[BLACK][tile] |= mask;
+                } else if (otherRow == row + 2) {
+                    SHIELDS_FAR[BLACK][tile] |= mask;
+                }
+            }
+        }
+    }
+
+    private PawnStructure() {
+        throw new RuntimeException("Not instantiable!");
+    }
+
+    // the PawnHashTable entry of these pawns
+    static long evaluate(final long whitePawns,
+                         final long blackPawns) {
+        final long[] pawns = {whitePawns, blackPawns};
+        int middlegame = 0;
+        int endgame = 0;
+        final int[] passedFiles = new int[2];
+        for (int side = WHITE; side <= BLACK; side++) {
+            final int sign = side == WHITE ? 1 : -1;
+            final long own = pawns[side];
+            final long enemy = pawns[1 - side];
+            for (long remaining = own; remaining != 0; remaining = BitBoard.withoutFirstSquare(remaining)) {
+                final int tile = BitBoard.firstSquare(remaining);
+                final int file = tile % BoardUtils.NUM_TILES_PER_ROW;
+                if ((own & ADJACENT_FILES[file]) == 0) {
+                    middlegame += sign * ISOLATED_MIDDLEGAME;
+                    endgame += sign * ISOLATED_ENDGAME;
+                }
+                // a pawn behind another of its own on the file is not passed, the one in front is
+                if ((enemy & FRONT_SPANS[side][tile]) == 0 && (own & FRONT_SPANS[side][tile] & FILES[file]) == 0) {
+                    final int rank = relativeRank(side, tile);
+                    middlegame += sign * PASSED_MIDDLEGAME[rank];
+                    endgame += sign * PASSED_ENDGAME[rank];
+                    passedFiles[side] |= 1 << file;
+                }
+            }
+            for (int file = 0; file < BoardUtils.NUM_TILES_PER_ROW; file++) {
+                final int onFile = Long.bitCount(own & FILES[file]);
+                if (onFile > 1) {
+                    middlegame += sign * (onFile - 1) * DOUBLED_MIDDLEGAME;
+                    endgame += sign * (onFile - 1) * DOUBLED_ENDGAME;
+                }
+            }
+        }
+        return PawnHashTable.pack(middlegame, endgame, passedFiles[WHITE], passedFiles[BLACK]);
+    }
+
+    // the passed pawns of both sides, back from the files of a PawnHashTable entry
+    static long passedPawns(final long entry,
+                            final long whitePawns,
+                            final long blackPawns) {
+        long passed = 0L;
+        final int whiteFiles = PawnHashTable.whitePassedFiles(entry);
+        final int blackFiles = PawnHashTable.blackPassedFiles(entry);
+        for (int file = 0; file < BoardUtils.NUM_TILES_PER_ROW; file++) {
+            if ((whiteFiles & (1 << file)) != 0) {
+                passed |= Long.lowestOneBit(whitePawns & FILES[file]);
+            }
+            if ((blackFiles & (1 << file)) != 0) {
+                passed |= Long.highestOneBit(blackPawns & FILES[file]);
+            }
+        }
+        return passed;
+    }
+
+    // passed pawns with an empty tile in front, from white's point of view
+    static int freePassedPawns(final long passedPawns,
+                               final long whitePawns,
+                               final long blackPawns,
+                               final long occupied) {
+        final int white = Long.bitCount(((passedPawns & whitePawns) >>> BoardUtils.NUM_TILES_PER_ROW) & ~occupied);
+        final int black = Long.bitCount(((passedPawns & blackPawns) << BoardUtils.NUM_TILES_PER_ROW) & ~occupied);
+        return (white - black) * FREE_PASSED_ENDGAME;
+    }
+
+    // middlegame bonus of the pawns right in front of the king of side, 0 = white
+    static int shield(final int side,
+                      final long ownPawns,
+                      final int kingTile) {
+        return SHIELD_NEAR * Long.bitCount(ownPawns & SHIELDS_NEAR[side][kingTile]) +
+                SHIELD_FAR * Long.bitCount(ownPawns & SHIELDS_FAR[side][kingTile]);
+    }
+
+    private static int relativeRank(final int side,
+                                    final int tile) {
+        final int row = tile / BoardUtils.NUM_TILES_PER_ROW;
+        return side == WHITE ? BoardUtils.NUM_TILES_PER_ROW - 1 - row : row;
+    }
+}
@@ -0,0 +1,115 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.GameStatus;
+import com.chess.engine.board.PieceSquareTables;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import static com.chess.engine.Alliance.BLACK;
+import static com.chess.engine.Alliance.WHITE;
+
+/**
+ * Material plus the PieceSquareTables bonus of every piece, tapered: the middlegame and endgame
+ * bonuses are blended by the game phase, so the weight moves from one to the other a little
+ * with every piece traded instead of jumping at some material threshold. On a SearchBoard all
+ * terms are sums the board carries along with its moves, so a leaf costs the same however many
+ * pieces are left; only a side in check asks for the GameStatus, to score mate. PawnStructure
+ * adds doubled, isolated and passed pawns and the king's pawn shield, the pawn-only part looked
+ * up in a PawnHashTable by the board's pawn key. The Board version adds the same terms up piece
+ * by piece, works the pawn structure out every time and gives the same score.
+ */
+public final class PieceSquareEvaluator implements BoardEvaluator {
+
+    private static final int CHECK_MATE_BONUS = 10000;
+    private static final int DEFAULT_PAWN_TABLE_SIZE_MB = 1;
+
+    private final PawnHashTable pawnHashTable;
+
+    public PieceSquareEvaluator() {
+        this(new PawnHashTable(DEFAULT_PAWN_TABLE_SIZE_MB));
+    }
+
+    public PieceSquareEvaluator(final PawnHashTable pawnHashTable) {
+        this.pawnHashTable = pawnHashTable;
+    }
+
+    public PawnHashTable getPawnHashTable() {
+        return this.pawnHashTable;
+    }
+
+    @Override
+    public int evaluate(final Board board,
+                        final int depth) {
+        int material = 0;
+        int middlegame = 0;
+        int endgame = 0;
+        for (final Piece piece : board.getAllPieces()) {
+            final int sign = piece.getPieceAlliance().isWhite() ? 1 : -1;
+            final int tile = piece.getPiecePosition();
+            material += sign * piece.getPieceValue();
+            middlegame += sign * PieceSquareTables.middlegameScore(piece.getPieceAlliance(), piece.getPieceType(), tile);
+            endgame += sign * PieceSquareTables.endgameScore(piece.getPieceAlliance(), piece.getPieceType(), tile);
+        }
+        final BitBoard bitBoard = board.getBitBoard();
+        final long whitePawns = bitBoard.getPieces(WHITE, PieceType.PAWN);
+        final long blackPawns = bitBoard.getPieces(BLACK, PieceType.PAWN);
+        final int phase = BoardUtils.gamePhase(board);
+        int score = material + taper(middlegame, endgame, phase) +
+                pawnScore(PawnStructure.evaluate(whitePawns, blackPawns), whitePawns, blackPawns,
+                        bitBoard.getPieces(WHITE, PieceType.KING), bitBoard.getPieces(BLACK, PieceType.KING),
+                        bitBoard.getAllOccupancy(), phase);
+        if (board.getGameStatus() == GameStatus.CHECKMATE) {
+            score += board.currentPlayer().getAlliance().isWhite() ? -CHECK_MATE_BONUS : CHECK_MATE_BONUS;
+        }
+        return score;
+    }
+
+    @Override
+    public int evaluate(final SearchBoard board,
+                        final int depth) {
+        final long whitePawns = board.getPieces(WHITE, PieceType.PAWN);
+        final long blackPawns = board.getPieces(BLACK, PieceType.PAWN);
+        long pawnEntry = this.pawnHashTable.probe(board.getPawnKey());
+        if (pawnEntry == PawnHashTable.NO_ENTRY) {
+            pawnEntry = PawnStructure.evaluate(whitePawns, blackPawns);
+            this.pawnHashTable.store(board.getPawnKey(), pawnEntry);
+        }
+        final int phase = board.getGamePhase();
+        int score = board.getMaterial(WHITE) - board.getMaterial(BLACK) +
+                taper(board.getMiddlegameScore(WHITE) - board.getMiddlegameScore(BLACK),
+                        board.getEndgameScore(WHITE) - board.getEndgameScore(BLACK), phase) +
+                pawnScore(pawnEntry, whitePawns, blackPawns, board.getPieces(WHITE, PieceType.KING),
+                        board.getPieces(BLACK, PieceType.KING), board.getAllOccupancy(), phase);
+        if (board.isInCheck() && board.getGameStatus() == GameStatus.CHECKMATE) {
+            score += board.getSideToMove().isWhite() ? -CHECK_MATE_BONUS : CHECK_MATE_BONUS;
+        }
+        return score;
+    }
+
+    // the cached pawn structure plus the terms that also depend on the kings and other pieces
+    private static int pawnScore(final long pawnEntry,
+                                 final long whitePawns,
+                                 final long blackPawns,
+                                 final long whiteKing,
+                                 final long blackKing,
+                                 final long occupied,
+                                 final int phase) {
+        final int middlegame = PawnHashTable.middlegameScore(pawnEntry) +
+                PawnStructure.shield(WHITE.ordinal(), whitePawns, BitBoard.firstSquare(whiteKing)) -
+                PawnStructure.shield(BLACK.ordinal(), blackPawns, BitBoard.firstSquare(blackKing));
+        final int endgame = PawnHashTable.endgameScore(pawnEntry) + PawnStructure.freePassedPawns(
+                PawnStructure.passedPawns(pawnEntry, whitePawns, blackPawns), whitePawns, blackPawns, occupied);
+        return taper(middlegame, endgame, phase);
+    }
+
+    // phase runs from BoardUtils.MAX_PHASE, all middlegame, down to 0, all endgame
+    private static int taper(final int middlegame,
+                             final int endgame,
+                             final int phase) {
+        return (middlegame * phase + endgame * (BoardUtils.MAX_PHASE - phase)) / BoardUtils.MAX_PHASE;
+    }
+}
@@ -0,0 +1,175 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Iterative deepening with principal variation search and aspiration windows. Every node, the
+ * root included, searches its first move with the full window and the others with a null window
+ * that only proves them worse, searching again those that are not. Each depth after the first
+ * starts with a narrow window around the score of the one before, since the score rarely moves
+ * far between depths, and a narrow window cuts off more; a score outside it is searched again
+ * with the window widened on the side it fell out of, twice as far each time.
+ *
+ * Unlike IterativeDeepening the root moves are ordered, best so far first, so between equally
+ * good moves this may choose another one than MiniMax would.
+ */
+public class PrincipalVariationSearch implements MoveStrategy {
+
+    private static final int DEFAULT_TABLE_SIZE_MB = 16;
+    private static final int ASPIRATION_WINDOW = 50; // either side of the last score
+    private static final int MAX_ASPIRATION_WINDOW = 1000; // wider than this, search the whole range
+
+    private final BoardEvaluator boardEvaluator;
+    private final SearchLimits searchLimits;
+    private final TranspositionTable transpositionTable;
+    private final MoveOrdering moveOrdering;
+    private final Set<AlphaBeta.Feature> features;
+    private long nodesSearched;
+    private int completedDepth;
+    private int score;
+    private int researches; // searches repeated because the score fell outside the window
+    private SearchStats searchStats;
+
+    public PrincipalVariationSearch(final SearchLimits searchLimits) {
+        this(new StandardBoardEvaluator(), searchLimits, new TranspositionTable(DEFAULT_TABLE_SIZE_MB));
+    }
+
+    public PrincipalVariationSearch(final BoardEvaluator boardEvaluator,
+                                    final SearchLimits searchLimits,
+                                    final TranspositionTable transpositionTable) {
+        this(boardEvaluator, searchLimits, transpositionTable, new HeuristicMoveOrdering(), AlphaBeta.DEFAULT_FEATURES);
+    }
+
+    // features are those of AlphaBeta, PRINCIPAL_VARIATION is always added
+    public PrincipalVariationSearch(final BoardEvaluator boardEvaluator,
+                                    final SearchLimits searchLimits,
+                                    final TranspositionTable transpositionTable,
+                                    final MoveOrdering moveOrdering,
+                                    final Set<AlphaBeta.Feature> features) {
+        this.boardEvaluator = boardEvaluator;
+        this.searchLimits = searchLimits;
+        this.transpositionTable = transpositionTable;
+        this.moveOrdering = moveOrdering;
+        this.features = EnumSet.of(AlphaBeta.Feature.PRINCIPAL_VARIATION);
+        this.features.addAll(features);
+    }
+
+    @Override
+    public String toString() {
+        return "PrincipalVariationSearch";
+    }
+
+    public long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    public int getCompletedDepth() {
+        return this.completedDepth;
+    }
+
+    // of the deepest completed search, from the point of view of the side to move
+    public int getScore() {
+        return this.score;
+    }
+
+    public int getResearches() {
+        return this.researches;
+    }
+
+    @Override
+    public SearchStats getSearchStats() {
+        return this.searchStats;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+
+        System.out.println(board.currentPlayer() + " THINKING with " + this.searchLimits);
+
+        this.transpositionTable.newSearch();
+        final Move bestMove = search(board);
+
+        IterativeDeepening.printIterations(this.searchStats);
+        System.out.println(board.currentPlayer() + " SELECTS " + bestMove + " " + this.searchStats +
+                " [score = " + this.score + ", researches = " + this.researches + "]");
+
+        return bestMove;
+    }
+
+    Move search(final Board board) {
+        final long startTime = System.currentTimeMillis();
+        final long deadline = this.searchLimits.deadlineFrom(startTime);
+        this.nodesSearched = 0;
+        this.completedDepth = 0;
+        this.researches = 0;
+        this.moveOrdering.newSearch();
+        final long probes = this.transpositionTable.getProbes();
+        final long hits = this.transpositionTable.getHits();
+        final SearchStats.Builder stats = new SearchStats.Builder();
+        int selectiveDepth = 0;
+
+        Move bestMove = null;
+        boolean aborted = false;
+        for (int depth = 1; depth <= this.searchLimits.getMaxDepth(); depth++) {
+            final long iterationStart = System.currentTimeMillis();
+            int window = ASPIRATION_WINDOW;
+            int alpha = depth == 1 ? -AlphaBeta.INFINITY : this.score - window;
+            int beta = depth == 1 ? AlphaBeta.INFINITY : this.score + window;
+            Move move;
+            int value;
+            while (true) {
+                final AlphaBeta search = new AlphaBeta(this.boardEvaluator, depth, this.transpositionTable,
+                        this.moveOrdering, this.features);
+                if (depth > 1) {
+                    // depth 1 always runs to the end, there has to be some move to play
+                    search.setBudget(this.searchLimits.getMaxNodes() - this.nodesSearched, deadline);
+                }
+                move = search.searchRoot(board, alpha, beta);
+                value = search.getScore();
+                this.nodesSearched += search.getNodesSearched();
+                selectiveDepth = Math.max(selectiveDepth, search.getSelectiveDepth());
+                stats.addCutoffs(search.getBetaCutoffs(), search.getFirstMoveCutoffs());
+                aborted = search.wasAborted();
+                if (aborted) {
+                    break;
+                }
+                if (value > alpha && value < beta) {
+                    break;
+                }
+                this.researches++;
+                window *= 2;
+                if (value <= alpha) {
+                    alpha = window > MAX_ASPIRATION_WINDOW ? -AlphaBeta.INFINITY : value - window;
+                } else {
+                    beta = window > MAX_ASPIRATION_WINDOW ? AlphaBeta.INFINITY : value + window;
+                }
+            }
+            stats.addIteration(System.currentTimeMillis() - iterationStart);
+            if (aborted) {
+                break;
+            }
+            bestMove = move;
+            this.score = value;
+            this.completedDepth = depth;
+            if (bestMove == null || this.nodesSearched >= this.searchLimits.getMaxNodes() ||
+                    IterativeDeepening.isTooLateForNextDepth(startTime, deadline)) {
+                break;
+            }
+        }
+        this.searchStats = stats
+                .setBestMove(bestMove)
+                .setDepth(this.completedDepth)
+                .setSelectiveDepth(selectiveDepth)
+                .setNodesSearched(this.nodesSearched)
+                .setElapsedMillis(System.currentTimeMillis() - startTime)
+                .setTranspositionCounts(this.transpositionTable.getProbes() - probes, this.transpositionTable.getHits() - hits)
+                .setPrincipalVariation(SearchStats.principalVariation(board, bestMove, this.transpositionTable,
+                        this.completedDepth))
+                .build();
+        return bestMove;
+    }
+}
@@ -0,0 +1,57 @@
+package com.chess.engine.player.ai;
+
+/**
+ * How far a search may go: a maximum depth in plies, a budget of nodes and a budget of wall
+ * clock time in milliseconds. Whichever runs out first ends the search.
+ */
+public final class SearchLimits {
+
+    public static final long NO_NODE_LIMIT = Long.MAX_VALUE;
+    public static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+
+    private final int maxDepth;
+    private final long maxNodes;
+    private final long maxTimeMillis;
+
+    public SearchLimits(final int maxDepth,
+                        final long maxNodes,
+                        final long maxTimeMillis) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Search depth must be positive, got " + maxDepth);
+        }
+        if (maxNodes < 1 || maxTimeMillis < 1) {
+            throw new IllegalArgumentException("Search budgets must be positive, got " + maxNodes +
+                    " nodes and " + maxTimeMillis + " ms");
+        }
+        this.maxDepth = maxDepth;
+        this.maxNodes = maxNodes;
+        this.maxTimeMillis = maxTimeMillis;
+    }
+
+    public static SearchLimits depth(final int maxDepth) {
+        return new SearchLimits(maxDepth, NO_NODE_LIMIT, NO_TIME_LIMIT);
+    }
+
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    public long getMaxNodes() {
+        return this.maxNodes;
+    }
+
+    public long getMaxTimeMillis() {
+        return this.maxTimeMillis;
+    }
+
+    long deadlineFrom(final long startTime) {
+        return this.maxTimeMillis >= Long.MAX_VALUE - startTime ? Long.MAX_VALUE : startTime + this.maxTimeMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "depth = " + this.maxDepth +
+                (this.maxNodes == NO_NODE_LIMIT ? "" : ", nodes = " + this.maxNodes) +
+                (this.maxTimeMillis == NO_TIME_LIMIT ? "" : ", time = " + this.maxTimeMillis + " ms");
+    }
+}
@@ -0,0 +1,238 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.player.MoveTransition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What a MoveStrategy did to find its last move, for monitoring and for tuning the search from
+ * real games instead of guesses. The depth is that of the deepest search that finished; the
+ * selective depth is the furthest ply any node reached, quiescence and aborted iterations
+ * included. Cutoffs are counted at the full-width nodes, where the move ordering decides how
+ * much gets searched: the closer the first-move cutoff rate is to 1, the better the ordering.
+ * The principal variation is read back from the transposition table after the search and may
+ * end early where an entry was overwritten; without a table it is the best move alone.
+ */
+public final class SearchStats {
+
+    private final Move bestMove;
+    private final int depth;
+    private final int selectiveDepth;
+    private final long nodesSearched;
+    private final long elapsedMillis;
+    private final List<Move> principalVariation;
+    private final long transpositionProbes;
+    private final long transpositionHits;
+    private final long betaCutoffs;
+    private final long firstMoveCutoffs;
+    private final List<Long> iterationMillis;
+
+    private SearchStats(final Builder builder) {
+        this.bestMove = builder.bestMove;
+        this.depth = builder.depth;
+        this.selectiveDepth = builder.selectiveDepth;
+        this.nodesSearched = builder.nodesSearched;
+        this.elapsedMillis = builder.elapsedMillis;
+        this.principalVariation = Collections.unmodifiableList(new ArrayList<>(builder.principalVariation));
+        this.transpositionProbes = builder.transpositionProbes;
+        this.transpositionHits = builder.transpositionHits;
+        this.betaCutoffs = builder.betaCutoffs;
+        this.firstMoveCutoffs = builder.firstMoveCutoffs;
+        this.iterationMillis = Collections.unmodifiableList(new ArrayList<>(builder.iterationMillis));
+    }
+
+    // null when there was no legal move
+    public Move getBestMove() {
+        return this.bestMove;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public int getSelectiveDepth() {
+        return this.selectiveDepth;
+    }
+
+    public long getNodesSearched() {
+        return this.nodesSearched;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    public long getNodesPerSecond() {
+        return this.nodesSearched * 1000 / Math.max(1, this.elapsedMillis);
+    }
+
+    // starts with the best move, empty when there was none
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    public long getTranspositionProbes() {
+        return this.transpositionProbes;
+    }
+
+    // share of this search's probes that found their position, 0 without a table
+    public double getTranspositionHitRate() {
+        return this.transpositionProbes == 0 ? 0 : (double) this.transpositionHits / this.transpositionProbes;
+    }
+
+    public long getBetaCutoffs() {
+        return this.betaCutoffs;
+    }
+
+    public long getFirstMoveCutoffs() {
+        return this.firstMoveCutoffs;
+    }
+
+    // share of the beta cutoffs made by the first move searched
+    public double getFirstMoveCutoffRate() {
+        return this.betaCutoffs == 0 ? 0 : (double) this.firstMoveCutoffs / this.betaCutoffs;
+    }
+
+    // wall clock time of each depth searched, in order, the last one possibly cut short
+    public List<Long> getIterationMillis() {
+        return this.iterationMillis;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder line = new StringBuilder();
+        for (final Move move : this.principalVariation) {
+            line.append(line.length() == 0 ? "" : " ").append(move);
+        }
+        return String.format("[depth = %d/%d, nodes = %d, nps = %d, time = %d ms, pv = %s, " +
+                        "tt hit rate = %.1f%%, cutoffs = %d, first move cutoffs = %.1f%%]",
+                this.depth, this.selectiveDepth, this.nodesSearched, getNodesPerSecond(), this.elapsedMillis,
+                line, 100 * getTranspositionHitRate(), this.betaCutoffs, 100 * getFirstMoveCutoffRate());
+    }
+
+    /**
+     * The moves after bestMove that the transposition table holds as best, as far as they are
+     * legal and no longer than maxLength moves in all. Probing counts in the table's hit rate,
+     * so callers take their own counts first.
+     */
+    static List<Move> principalVariation(final Board board,
+                                         final Move bestMove,
+                                         final TranspositionTable transpositionTable,
+                                         final int maxLength) {
+        final List<Move> line = new ArrayList<>();
+        if (bestMove == null) {
+            return line;
+        }
+        line.add(bestMove);
+        if (transpositionTable == null) {
+            return line;
+        }
+        Board current = board.currentPlayer().makeMove(bestMove).getTransitionBoard();
+        while (line.size() < maxLength) {
+            final long entry = transpositionTable.probe(current.getZobristKey());
+            final Move move = PackedMove.toMove(current, TranspositionTable.move(entry));
+            if (move == Move.NULL_MOVE) {
+                break;
+            }
+            final MoveTransition transition = current.currentPlayer().makeMove(move);
+            if (!transition.getMoveStatus().isDone()) {
+                break;
+            }
+            line.add(move);
+            current = transition.getTransitionBoard();
+        }
+        return line;
+    }
+
+    static final class Builder {
+
+        private Move bestMove;
+        private int depth;
+        private int selectiveDepth;
+        private long nodesSearched;
+        private long elapsedMillis;
+        private List<Move> principalVariation = Collections.emptyList();
+        private long transpositionProbes;
+        private long transpositionHits;
+        private long betaCutoffs;
+        private long firstMoveCutoffs;
+        private final List<Long> iterationMillis = new ArrayList<>();
+
+        Builder() {
+        }
+
+        // starts from what another search found, for strategies that run one inside
+        Builder(final SearchStats stats) {
+            this.bestMove = stats.bestMove;
+            this.depth = stats.depth;
+            this.selectiveDepth = stats.selectiveDepth;
+            this.nodesSearched = stats.nodesSearched;
+            this.elapsedMillis = stats.elapsedMillis;
+            this.principalVariation = stats.principalVariation;
+            this.transpositionProbes = stats.transpositionProbes;
+            this.transpositionHits = stats.transpositionHits;
+            this.betaCutoffs = stats.betaCutoffs;
+            this.firstMoveCutoffs = stats.firstMoveCutoffs;
+            this.iterationMillis.addAll(stats.iterationMillis);
+        }
+
+        Builder setBestMove(final Move bestMove) {
+            this.bestMove = bestMove;
+            return this;
+        }
+
+        Builder setDepth(final int depth) {
+            this.depth = depth;
+            return this;
+        }
+
+        Builder setSelectiveDepth(final int selectiveDepth) {
+            this.selectiveDepth = selectiveDepth;
+            return this;
+        }
+
+        Builder setNodesSearched(final long nodesSearched) {
+            this.nodesSearched = nodesSearched;
+            return this;
+        }
+
+        Builder setElapsedMillis(final long elapsedMillis) {
+            this.elapsedMillis = elapsedMillis;
+            return this;
+        }
+
+        Builder setPrincipalVariation(final List<Move> principalVariation) {
+            this.principalVariation = principalVariation;
+            return this;
+        }
+
+        // counts of the table's probes and hits during the search alone
+        Builder setTranspositionCounts(final long probes,
+                                       final long hits) {
+            this.transpositionProbes = probes;
+            this.transpositionHits = hits;
+            return this;
+        }
+
+        Builder addCutoffs(final long betaCutoffs,
+                           final long firstMoveCutoffs) {
+            this.betaCutoffs += betaCutoffs;
+            this.firstMoveCutoffs += firstMoveCutoffs;
+            return this;
+        }
+
+        Builder addIteration(final long millis) {
+            this.iterationMillis.add(millis);
+            return this;
+        }
+
+        SearchStats build() {
+            return new SearchStats(this);
+        }
+    }
+}
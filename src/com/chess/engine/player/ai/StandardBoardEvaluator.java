@@ -1,6 +1,9 @@
 package com.chess.engine.player.ai;
 
+import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.GameStatus;
+import com.chess.engine.board.SearchBoard;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.Player;
 
@@ -19,20 +22,38 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
                 scorePlayer(board,board.blackPlayer(), depth);
     }
 
+    @Override
+    public int evaluate(final SearchBoard board,
+                        final int depth) {
+        return scorePlayer(board, Alliance.WHITE) - scorePlayer(board, Alliance.BLACK);
+    }
+
+    // the SearchBoard version of the terms below; the side not to move is never in check
+    private static int scorePlayer(final SearchBoard board,
+                                   final Alliance alliance) {
+        int score = board.countMoves(alliance) + board.getMaterial(alliance);
+        if (board.getSideToMove() != alliance && board.isInCheck()) {
+            score += board.getGameStatus() == GameStatus.CHECKMATE ? CHECK_BONUS + CHECK_MATE_BONUS : CHECK_BONUS;
+        }
+        return score;
+    }
+
     private int scorePlayer(final Board board,
                             final Player player,
                             final int depth) {
 
-        return pieceValue(player) + mobility(player) + check(player) +
-                checkmate(player, depth) + castled(player);
+        return pieceValue(player) + mobility(player) + check(board, player) +
+                checkmate(board, player, depth) + castled(player);
     }
 
     private static int castled(Player player) {
         return player.isCastled() ? CASTLE_BONUS : 0;
     }
 
-    private int checkmate(Player player, int depth) {
-        return player.getOpponent().isInCheckmate() ? CHECK_MATE_BONUS : 0;
+    // only the side to move can be in check, so both terms read the board's one status
+    private int checkmate(Board board, Player player, int depth) {
+        return player.getOpponent() == board.currentPlayer() &&
+                board.getGameStatus() == GameStatus.CHECKMATE ? CHECK_MATE_BONUS : 0;
     }
 
     private static int depthBonus(int depth){
@@ -40,8 +61,8 @@ public final class StandardBoardEvaluator implements BoardEvaluator {
     }
 
 
-    private static int check(final Player player){
-        return player.getOpponent().isInCheck() ?
+    private static int check(final Board board, final Player player){
+        return player.getOpponent() == board.currentPlayer() && board.getGameStatus().isCheck() ?
                 CHECK_BONUS : 0;
     }
 
@@ -0,0 +1,176 @@
+package com.chess.engine.player.ai;
+
+import com.chess.engine.board.PackedMove;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed size hash of search results keyed by Board.getZobristKey. Every slot is two longs: the
+ * packed entry and the position key XOR-ed with that entry. Threads read and write without locks;
+ * a slot torn by two racing writers simply fails the XOR check and reads as a miss.
+ *
+ * Packed entry layout (low to high bits):
+ *   0-15  best move as PackedMove.core
+ *  16-47  score
+ *  48-55  depth
+ *  56-57  bound type, 0 = empty slot
+ *  58-63  search generation, used to push out entries left by earlier searches
+ */
+public final class TranspositionTable {
+
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2; // failed high, score is at least this much
+    public static final int UPPER_BOUND = 3; // failed low, score is at most this much
+
+    public static final long NO_ENTRY = 0L;
+    public static final int NO_MOVE = PackedMove.NONE;
+
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    private static final int MAX_GENERATION = 63;
+
+    private final long[] keys;
+    private final long[] entries;
+    private final int indexMask;
+    private volatile int generation;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    public TranspositionTable(final int sizeInMegabytes) {
+        if (sizeInMegabytes < 1) {
+            throw new IllegalArgumentException("Transposition table needs at least 1 MB, got " + sizeInMegabytes);
+        }
+        final long requestedEntries = (sizeInMegabytes * 1024L * 1024L) / BYTES_PER_ENTRY;
+        final int numEntries = (int) Math.min(Long.highestOneBit(requestedEntries), 1 << 30);
+        this.keys = new long[numEntries];
+        this.entries = new long[numEntries];
+        this.indexMask = numEntries - 1;
+    }
+
+    /**
+     * Call once before every new search, from one thread. Entries from earlier searches stay
+     * readable but lose their claim on the slot.
+     */
+    public void newSearch() {
+        this.generation = (this.generation + 1) & MAX_GENERATION;
+    }
+
+    public long probe(final long zobristKey) {
+        this.probes.increment();
+        final int index = index(zobristKey);
+        final long entry = this.entries[index];
+        final long storedKey = this.keys[index] ^ entry;
+        if (bound(entry) != 0) {
+            if (storedKey == zobristKey) {
+                this.hits.increment();
+                return entry;
+            }
+            this.collisions.increment();
+        }
+        return NO_ENTRY;
+    }
+
+    public void store(final long zobristKey,
+                      final int depth,
+                      final int score,
+                      final int bound,
+                      final int moveCode) {
+        final int index = index(zobristKey);
+        final long current = this.entries[index];
+        final boolean sameKey = (this.keys[index] ^ current) == zobristKey;
+        // depth preferred: a deeper result from this search is never overwritten by a shallower one
+        if (bound(current) != 0 && generation(current) == this.generation && depth < depth(current)) {
+            return;
+        }
+        final int bestMove = moveCode == NO_MOVE && sameKey ? move(current) : moveCode;
+        final long entry = pack(bestMove, score, depth, bound, this.generation);
+        this.entries[index] = entry;
+        this.keys[index] = zobristKey ^ entry;
+        this.stores.increment();
+    }
+
+    public void clear() {
+        Arrays.fill(this.keys, 0L);
+        Arrays.fill(this.entries, 0L);
+        this.probes.reset();
+        this.hits.reset();
+        this.collisions.reset();
+        this.stores.reset();
+    }
+
+    public int getNumEntries() {
+        return this.entries.length;
+    }
+
+    public long getProbes() {
+        return this.probes.sum();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getCollisions() {
+        return this.collisions.sum();
+    }
+
+    public long getStores() {
+        return this.stores.sum();
+    }
+
+    public double getHitRate() {
+        final long probes = getProbes();
+        return probes == 0 ? 0 : (double) getHits() / probes;
+    }
+
+    // share of probes that found the slot taken by another position
+    public double getCollisionRate() {
+        final long probes = getProbes();
+        return probes == 0 ? 0 : (double) getCollisions() / probes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TT[entries = %d, probes = %d, hit rate = %.1f%%, collision rate = %.1f%%]",
+                getNumEntries(), getProbes(), 100 * getHitRate(), 100 * getCollisionRate());
+    }
+
+    private int index(final long zobristKey) {
+        return (int) (zobristKey ^ (zobristKey >>> 32)) & this.indexMask;
+    }
+
+    private static long pack(final int moveCode,
+                             final int score,
+                             final int depth,
+                             final int bound,
+                             final int generation) {
+        return (PackedMove.core(moveCode) & 0xFFFFL) |
+                ((score & 0xFFFFFFFFL) << 16) |
+                ((long) (depth & 0xFF) << 48) |
+                ((long) bound << 56) |
+                ((long) generation << 58);
+    }
+
+    public static int move(final long entry) {
+        return (int) (entry & 0xFFFF);
+    }
+
+    public static int score(final long entry) {
+        return (int) (entry >>> 16);
+    }
+
+    public static int depth(final long entry) {
+        return (int) ((entry >>> 48) & 0xFF);
+    }
+
+    public static int bound(final long entry) {
+        return (int) ((entry >>> 56) & 0x3);
+    }
+
+    private static int generation(final long entry) {
+        return (int) (entry >>> 58);
+    }
+}
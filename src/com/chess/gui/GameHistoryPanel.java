@@ -1,6 +1,7 @@
 package com.chess.gui;
 
 import com.chess.engine.board.Board;
+import com.chess.engine.board.GameStatus;
 import com.chess.engine.board.Move;
 import com.chess.gui.Table.MoveLog;
 
@@ -58,9 +59,9 @@ public class GameHistoryPanel extends JPanel {
     }
 
     private String calculateCheckAndCheckMateHash(final Board board) {
-        if(board.currentPlayer().isInCheckmate()){
+        if(board.getGameStatus() == GameStatus.CHECKMATE){
             return "#";
-        }else if(board.currentPlayer().isInCheck()){
+        }else if(board.getGameStatus().isCheck()){
             return "+";
         }
         return "";
@@ -14,6 +14,8 @@ class GameSetup extends JDialog {
     private PlayerType whitePlayerType;
     private PlayerType blackPlayerType;
     private JSpinner searchDepthSpinner;
+    private JSpinner secondsPerMoveSpinner;
+    private JSpinner searchThreadsSpinner;
 
     private static final String HUMAN_TEXT = "Human";
     private static final String COMPUTER_TEXT = "Computer";
@@ -46,7 +48,10 @@ class GameSetup extends JDialog {
         myPanel.add(blackComputerButton);
 
         myPanel.add(new JLabel("Search"));
-        this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth", new SpinnerNumberModel(6, 0, Integer.MAX_VALUE, 1));
+        this.searchDepthSpinner = addLabeledSpinner(myPanel, "Search Depth", new SpinnerNumberModel(6, 1, 64, 1));
+        this.secondsPerMoveSpinner = addLabeledSpinner(myPanel, "Seconds Per Move", new SpinnerNumberModel(5, 1, 3600, 1));
+        this.searchThreadsSpinner = addLabeledSpinner(myPanel, "Search Threads",
+                new SpinnerNumberModel(1, 1, Runtime.getRuntime().availableProcessors(), 1));
 
         final JButton cancelButton = new JButton("Cancel");
         final JButton okButton = new JButton("OK");
@@ -108,4 +113,12 @@ class GameSetup extends JDialog {
     int getSearchDepth() {
         return (Integer)this.searchDepthSpinner.getValue();
     }
+
+    int getSecondsPerMove() {
+        return (Integer)this.secondsPerMoveSpinner.getValue();
+    }
+
+    int getSearchThreads() {
+        return (Integer)this.searchThreadsSpinner.getValue();
+    }
 }
@@ -3,12 +3,17 @@ package com.chess.gui;
 
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.GameStatus;
 import com.chess.engine.board.Move;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.MoveTransition;
-import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.IterativeDeepening;
+import com.chess.engine.player.ai.LazySmp;
 import com.chess.engine.player.ai.MoveStrategy;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
 import com.google.common.collect.Lists;
 
 import javax.imageio.ImageIO;
@@ -47,6 +52,7 @@ public class Table extends Observable{
     private BoardDirection boardDirection;
     private final MoveLog moveLog;
     private final GameSetup gameSetup;
+    private final TranspositionTable transpositionTable; // kept between computer moves
     private Move computerMove;
 
     private final static Dimension OUTER_FRAME_DIMENSION = new Dimension(600, 600); // needed dimensions
@@ -54,7 +60,6 @@ public class Table extends Observable{
     private final static Dimension TITLE_PANEL_DIMENSION = new Dimension(10, 10);
 
     private static final Table INSTANCE = new Table();
-    private Board getGameBoard;
 
     // constructor
     public Table() {
@@ -69,6 +74,7 @@ public class Table extends Observable{
         this.gameFrame.setSize(OUTER_FRAME_DIMENSION);
         this.gameFrame.setVisible(true);
         this.gameSetup = new GameSetup(this.gameFrame, true);
+        this.transpositionTable = new TranspositionTable(32);
         this.boardPanel = new BoardPanel();
         this.gameFrame.add(this.takenPiecesPanel, BorderLayout.WEST);
         this.gameFrame.add(this.boardPanel,BorderLayout.CENTER);
@@ -305,20 +311,20 @@ public class Table extends Observable{
         @Override
         public void update(final Observable o, final Object arg){
 
-            if(Table.get().getGameSetup().isAIPlayer(Table.get().getGameBoard.currentPlayer()) &&
-                    !Table.get().chessBoard.currentPlayer().isInCheckMate &&
-                    !Table.get().chessBoard.currentPlayer().isInStaleMate()){
+            final GameStatus gameStatus = Table.get().getGameBoard().getGameStatus();
+            if(Table.get().getGameSetup().isAIPlayer(Table.get().getGameBoard().currentPlayer()) &&
+                    !gameStatus.isGameOver()){
 
                 AIThinkTank thinkTank = new AIThinkTank();
                 thinkTank.execute();
 
             }
-            if(Table.get().getGameBoard().currentPlayer().isInCheckmate()){
+            if(gameStatus == GameStatus.CHECKMATE){
                 System.out.println("Game Over, " + Table.get().getGameBoard().currentPlayer() + " is in checkmate!");
 
             }
-            if(Table.get().getGameBoard().currentPlayer().isInStaleMate()){
-                System.out.println("Game Over, " + Table.get().getGameBoard().currentPlayer() + " is in checkmate!");
+            if(gameStatus == GameStatus.STALEMATE){
+                System.out.println("Game Over, " + Table.get().getGameBoard().currentPlayer() + " is in stalemate!");
 
             }
         }
@@ -472,9 +478,15 @@ public class Table extends Observable{
         @Override
         protected Move doInBackground() throws Exception{
 
-            final MoveStrategy miniMax = new MiniMax(4);
+            final GameSetup gameSetup = Table.get().getGameSetup();
+            final SearchLimits searchLimits = new SearchLimits(gameSetup.getSearchDepth(),
+                    SearchLimits.NO_NODE_LIMIT, gameSetup.getSecondsPerMove() * 1000L);
+            final int threads = gameSetup.getSearchThreads();
+            final MoveStrategy strategy = threads > 1 ?
+                    new LazySmp(new StandardBoardEvaluator(), searchLimits, Table.get().transpositionTable, threads) :
+                    new IterativeDeepening(new StandardBoardEvaluator(), searchLimits, Table.get().transpositionTable);
 
-            final Move bestMove = miniMax.execute(Table.get().getGameBoard);
+            final Move bestMove = strategy.execute(Table.get().getGameBoard());
 
             return bestMove;
         }
@@ -486,11 +498,11 @@ public class Table extends Observable{
                 final Move bestMove = get();
 
                 Table.get().updateComputerMove(bestMove);
-                Table.get().updateGameBoard(Table.get().getGameBoard.currentPlayer().makeMove(bestMove).getTransitionBoard());
+                Table.get().updateGameBoard(Table.get().getGameBoard().currentPlayer().makeMove(bestMove).getTransitionBoard());
                 Table.get().getMoveLog().addMove(bestMove);
-                Table.get().getGameHistoryPanel().redo(Table.get().getGameBoard,Table.get().getMoveLog());
+                Table.get().getGameHistoryPanel().redo(Table.get().getGameBoard(),Table.get().getMoveLog());
                 Table.get().getTakenPiecesPanel().redo(Table.get().getMoveLog());
-                Table.get().getBoardPanel().drawBoard(Table.get().getGameBoard);
+                Table.get().getBoardPanel().drawBoard(Table.get().getGameBoard());
                 Table.get().moveMadeUpdate(PlayerType.COMPUTER);
             } catch (InterruptedException e) {
                 e.printStackTrace();
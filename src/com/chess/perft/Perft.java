@@ -0,0 +1,222 @@
+package com.chess.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.FenUtilities;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth. The counts can be compared
+ * with published perft numbers to check move generation, and the timing gives a throughput
+ * figure for Piece.calculateLegalMoves, Move.execute and Player.makeMove, or with packedDivide
+ * for the SearchBoard generator.
+ */
+public final class Perft {
+
+    private static final int SEQUENTIAL_DEPTH = 2; // subtrees this shallow are not worth a fork
+
+    private final int parallelism;
+    private final Map<Integer, Map<Long, Long>> subtreeCache; // depth -> Zobrist key -> leaves, null when caching is off
+
+    public Perft(final int parallelism,
+                 final boolean useCache) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Perft needs at least one thread, got " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.subtreeCache = useCache ? new ConcurrentHashMap<>() : null;
+    }
+
+    public Perft() {
+        this(1, false);
+    }
+
+    public long perft(final Board board, final int depth) {
+        return divide(board, depth).getNodes();
+    }
+
+    public PerftResult divide(final Board board, final int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Perft depth must be positive, got " + depth);
+        }
+        final long startTime = System.nanoTime();
+        final List<Move> rootMoves = new ArrayList<>();
+        final List<PerftTask> rootTasks = new ArrayList<>();
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                rootMoves.add(move);
+                rootTasks.add(new PerftTask(transition.getTransitionBoard(), depth - 1));
+            }
+        }
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        if (this.parallelism == 1) {
+            for (int i = 0; i < rootMoves.size(); i++) {
+                divide.put(moveText(rootMoves.get(i)), countLeaves(rootTasks.get(i).board, depth - 1));
+            }
+        } else {
+            final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+            try {
+                for (final PerftTask task : rootTasks) {
+                    pool.execute(task);
+                }
+                for (int i = 0; i < rootMoves.size(); i++) {
+                    divide.put(moveText(rootMoves.get(i)), rootTasks.get(i).join());
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+        return new PerftResult(depth, divide, System.nanoTime() - startTime);
+    }
+
+    /**
+     * The same count made on one SearchBoard with packed moves, kept in one reused int[] per ply,
+     * so no Move or Board is created below the root. This is the generator the searches use.
+     */
+    public static PerftResult packedDivide(final Board board, final int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Perft depth must be positive, got " + depth);
+        }
+        final long startTime = System.nanoTime();
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final int[][] moveBuffers = new int[depth][SearchBoard.MAX_MOVES];
+        final int[] rootMoves = moveBuffers[0];
+        final int numRootMoves = searchBoard.generateLegalMoves(rootMoves, 0);
+        final Map<String, Long> divide = new LinkedHashMap<>();
+        for (int i = 0; i < numRootMoves; i++) {
+            searchBoard.makeLegalMove(rootMoves[i]);
+            divide.put(PackedMove.toString(rootMoves[i]), countPackedLeaves(searchBoard, depth - 1, moveBuffers));
+            searchBoard.unmakeMove();
+        }
+        return new PerftResult(depth, divide, System.nanoTime() - startTime);
+    }
+
+    private static long countPackedLeaves(final SearchBoard board,
+                                          final int depth,
+                                          final int[][] moveBuffers) {
+        if (depth == 0) {
+            return 1;
+        }
+        final int[] moves = moveBuffers[board.getPly()];
+        final int numMoves = board.generateLegalMoves(moves, 0);
+        if (depth == 1) {
+            return numMoves; // bulk count, the moves are legal already
+        }
+        long nodes = 0;
+        for (int i = 0; i < numMoves; i++) {
+            board.makeLegalMove(moves[i]);
+            nodes += countPackedLeaves(board, depth - 1, moveBuffers);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private long countLeaves(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        final Map<Long, Long> depthCache = depthCache(depth);
+        if (depthCache != null) {
+            final Long cached = depthCache.get(board.getZobristKey());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long nodes = 0;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final MoveTransition transition = board.currentPlayer().makeMove(move);
+            if (transition.getMoveStatus().isDone()) {
+                nodes += depth == 1 ? 1 : countLeaves(transition.getTransitionBoard(), depth - 1);
+            }
+        }
+        if (depthCache != null) {
+            depthCache.put(board.getZobristKey(), nodes);
+        }
+        return nodes;
+    }
+
+    private Map<Long, Long> depthCache(final int depth) {
+        if (this.subtreeCache == null || depth < 2) {
+            return null;
+        }
+        return this.subtreeCache.computeIfAbsent(depth, d -> new ConcurrentHashMap<>());
+    }
+
+    static String moveText(final Move move) {
+        final String text = BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate()) +
+                BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate());
+        if (move instanceof Move.PawnPromotion) {
+            return text + ((Move.PawnPromotion) move).getPromotionPiece().getPieceType().toString().toLowerCase();
+        }
+        return text;
+    }
+
+    private final class PerftTask extends RecursiveTask<Long> {
+
+        private final Board board;
+        private final int depth;
+
+        PerftTask(final Board board, final int depth) {
+            this.board = board;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Long compute() {
+            if (this.depth <= SEQUENTIAL_DEPTH) {
+                return countLeaves(this.board, this.depth);
+            }
+            final List<PerftTask> subtasks = new ArrayList<>();
+            for (final Move move : this.board.currentPlayer().getLegalMoves()) {
+                final MoveTransition transition = this.board.currentPlayer().makeMove(move);
+                if (transition.getMoveStatus().isDone()) {
+                    subtasks.add(new PerftTask(transition.getTransitionBoard(), this.depth - 1));
+                }
+            }
+            long nodes = 0;
+            for (final PerftTask subtask : invokeAll(subtasks)) {
+                nodes += subtask.join();
+            }
+            return nodes;
+        }
+    }
+
+    public static void main(final String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: Perft <depth> [-t threads] [-c] [-p] [fen]");
+            return;
+        }
+        final int depth = Integer.parseInt(args[0]);
+        int threads = 1;
+        boolean useCache = false;
+        boolean packed = false;
+        final StringBuilder fen = new StringBuilder();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("-t")) {
+                threads = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-c")) {
+                useCache = true;
+            } else if (args[i].equals("-p")) {
+                packed = true;
+            } else {
+                fen.append(args[i]).append(" ");
+            }
+        }
+        final Board board = fen.length() == 0 ? Board.createStandardBoard() :
+                FenUtilities.createGameFromFEN(fen.toString());
+        System.out.println(board);
+        System.out.println(packed ? packedDivide(board, depth) : new Perft(threads, useCache).divide(board, depth));
+    }
+}
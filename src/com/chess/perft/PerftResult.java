@@ -0,0 +1,54 @@
+package com.chess.perft;
+
+import java.util.Collections;
+import java.util.Map;
+
+public final class PerftResult {
+
+    private final int depth;
+    private final Map<String, Long> divide; // leaf count below every root move
+    private final long nodes;
+    private final long elapsedNanos;
+
+    PerftResult(final int depth,
+                final Map<String, Long> divide,
+                final long elapsedNanos) {
+        this.depth = depth;
+        this.divide = Collections.unmodifiableMap(divide);
+        this.nodes = divide.values().stream().mapToLong(Long::longValue).sum();
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public Map<String, Long> getDivide() {
+        return this.divide;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedNanos / 1_000_000;
+    }
+
+    public long getNodesPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : (this.nodes * 1_000_000_000L) / this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (final Map.Entry<String, Long> entry : this.divide.entrySet()) {
+            builder.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+        }
+        builder.append("\nDepth: ").append(this.depth)
+                .append("\nNodes: ").append(this.nodes)
+                .append("\nTime: ").append(getElapsedMillis()).append(" ms")
+                .append("\nNPS: ").append(getNodesPerSecond());
+        return builder.toString();
+    }
+}
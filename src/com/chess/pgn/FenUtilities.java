@@ -0,0 +1,175 @@
+package com.chess.pgn;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.pieces.*;
+
+public class FenUtilities {
+
+    private FenUtilities() {
+        throw new RuntimeException("Not Instantiable!");
+    }
+
+    public static Board createGameFromFEN(final String fenString) {
+        return parseFEN(fenString);
+    }
+
+    public static String createFENFromGame(final Board board) {
+        return calculateBoardText(board) + " " +
+                calculateCurrentPlayerText(board) + " " +
+                calculateCastleText(board) + " " +
+                calculateEnPassantSquare(board) + " " +
+                "0 1";
+    }
+
+    private static Board parseFEN(final String fenString) {
+        final String[] fenPartitions = fenString.trim().split("\\s+");
+        if (fenPartitions.length < 2) {
+            throw new RuntimeException("Invalid FEN String " + fenString);
+        }
+        final Board.Builder builder = new Board.Builder();
+        final Alliance moveMaker = moveMaker(fenPartitions[1]);
+        final String castles = fenPartitions.length > 2 ? fenPartitions[2] : "-";
+        final boolean whiteKingSideCastle = castles.contains("K");
+        final boolean whiteQueenSideCastle = castles.contains("Q");
+        final boolean blackKingSideCastle = castles.contains("k");
+        final boolean blackQueenSideCastle = castles.contains("q");
+
+        final String gameConfiguration = fenPartitions[0];
+        final char[] boardTiles = gameConfiguration.replaceAll("/", "")
+                .replaceAll("8", "--------")
+                .replaceAll("7", "-------")
+                .replaceAll("6", "------")
+                .replaceAll("5", "-----")
+                .replaceAll("4", "----")
+                .replaceAll("3", "---")
+                .replaceAll("2", "--")
+                .replaceAll("1", "-")
+                .toCharArray();
+        if (boardTiles.length != BoardUtils.NUM_TILES) {
+            throw new RuntimeException("Invalid FEN board " + gameConfiguration);
+        }
+        int i = 0;
+        while (i < boardTiles.length) {
+            switch (boardTiles[i]) {
+                case 'r':
+                    builder.setPiece(new Rook(Alliance.BLACK, i, (i == 0 && blackQueenSideCastle) || (i == 7 && blackKingSideCastle)));
+                    break;
+                case 'n':
+                    builder.setPiece(new Knight(Alliance.BLACK, i, false));
+                    break;
+                case 'b':
+                    builder.setPiece(new Bishop(Alliance.BLACK, i, false));
+                    break;
+                case 'q':
+                    builder.setPiece(new Queen(Alliance.BLACK, i, false));
+                    break;
+                case 'k':
+                    builder.setPiece(new King(Alliance.BLACK, i, i == 4 && (blackKingSideCastle || blackQueenSideCastle)));
+                    break;
+                case 'p':
+                    builder.setPiece(new Pawn(Alliance.BLACK, i, BoardUtils.SEVENTH_RANK[i]));
+                    break;
+                case 'R':
+                    builder.setPiece(new Rook(Alliance.WHITE, i, (i == 56 && whiteQueenSideCastle) || (i == 63 && whiteKingSideCastle)));
+                    break;
+                case 'N':
+                    builder.setPiece(new Knight(Alliance.WHITE, i, false));
+                    break;
+                case 'B':
+                    builder.setPiece(new Bishop(Alliance.WHITE, i, false));
+                    break;
+                case 'Q':
+                    builder.setPiece(new Queen(Alliance.WHITE, i, false));
+                    break;
+                case 'K':
+                    builder.setPiece(new King(Alliance.WHITE, i, i == 60 && (whiteKingSideCastle || whiteQueenSideCastle)));
+                    break;
+                case 'P':
+                    builder.setPiece(new Pawn(Alliance.WHITE, i, BoardUtils.SECOND_RANK[i]));
+                    break;
+                case '-':
+                    break;
+                default:
+                    throw new RuntimeException("Invalid FEN String " + gameConfiguration);
+            }
+            i++;
+        }
+        final String enPassantSquare = fenPartitions.length > 3 ? fenPartitions[3] : "-";
+        if (!enPassantSquare.equals("-")) {
+            // the pawn that just jumped stands one rank past the skipped square
+            final int enPassantPawnCoordinate = BoardUtils.getCoordinateAtPosition(enPassantSquare) -
+                    (moveMaker.getDirection() * BoardUtils.NUM_TILES_PER_ROW);
+            final Alliance pawnAlliance = moveMaker.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+            final Pawn enPassantPawn = new Pawn(pawnAlliance, enPassantPawnCoordinate, false);
+            builder.setPiece(enPassantPawn);
+            builder.setEnPassantPawn(enPassantPawn);
+        }
+        builder.setMoveMaker(moveMaker);
+        return builder.build();
+    }
+
+    private static Alliance moveMaker(final String moveMakerString) {
+        if (moveMakerString.equals("w")) {
+            return Alliance.WHITE;
+        } else if (moveMakerString.equals("b")) {
+            return Alliance.BLACK;
+        }
+        throw new RuntimeException("Invalid FEN String " + moveMakerString);
+    }
+
+    private static String calculateBoardText(final Board board) {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            builder.append(board.getTile(i).toString());
+        }
+        builder.insert(8, "/");
+        builder.insert(17, "/");
+        builder.insert(26, "/");
+        builder.insert(35, "/");
+        builder.insert(44, "/");
+        builder.insert(53, "/");
+        builder.insert(62, "/");
+        return builder.toString()
+                .replaceAll("--------", "8")
+                .replaceAll("-------", "7")
+                .replaceAll("------", "6")
+                .replaceAll("-----", "5")
+                .replaceAll("----", "4")
+                .replaceAll("---", "3")
+                .replaceAll("--", "2")
+                .replaceAll("-", "1");
+    }
+
+    private static String calculateCurrentPlayerText(final Board board) {
+        return board.currentPlayer().getAlliance().isWhite() ? "w" : "b";
+    }
+
+    private static String calculateCastleText(final Board board) {
+        final StringBuilder builder = new StringBuilder();
+        if (board.whitePlayer().isKingSideCastleCapable()) {
+            builder.append("K");
+        }
+        if (board.whitePlayer().isQueenSideCastleCapable()) {
+            builder.append("Q");
+        }
+        if (board.blackPlayer().isKingSideCastleCapable()) {
+            builder.append("k");
+        }
+        if (board.blackPlayer().isQueenSideCastleCapable()) {
+            builder.append("q");
+        }
+        final String result = builder.toString();
+        return result.isEmpty() ? "-" : result;
+    }
+
+    private static String calculateEnPassantSquare(final Board board) {
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn != null) {
+            return BoardUtils.getPositionAtCoordinate(enPassantPawn.getPiecePosition() +
+                    (BoardUtils.NUM_TILES_PER_ROW * enPassantPawn.getPieceAlliance().getOppositeDirection()));
+        }
+        return "-";
+    }
+}
@@ -1,11 +1,23 @@
 package com.tests.chess.engine.board;
 
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.GameStatus;
+import com.chess.engine.board.Move;
+import com.chess.pgn.FenUtilities;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class BoardTest{
 
@@ -46,4 +58,97 @@ public class BoardTest{
         assertEquals(board.getPiece(35), null);
     */
     }
+
+    @Test
+    public void squareAttacks() {
+        final Board board = FenUtilities.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -");
+        assertEquals(BitBoard.squareMask(28), board.getAttackersOf(11, Alliance.WHITE)); // Ne5 on d7
+        assertEquals(BitBoard.squareMask(27), board.getAttackersOf(20, Alliance.WHITE)); // d5 pawn on e6
+        assertEquals(BitBoard.squareMask(47), board.getAttackersOf(54, Alliance.BLACK)); // h3 pawn on g2
+        assertFalse(board.isSquareAttacked(61, Alliance.BLACK)); // Ba6 is blocked by Be2
+        assertEquals(2, board.currentPlayer().getLegalMoves().stream().filter(move -> move.isCastlingMove()).count());
+
+        final Board standard = Board.createStandardBoard();
+        assertTrue(standard.isSquareAttacked(44, Alliance.WHITE)); // e3, by the d2 and f2 pawns
+        assertFalse(standard.isSquareAttacked(36, Alliance.WHITE)); // e4 is only reached by a push
+    }
+
+    @Test
+    public void checkBySlider() {
+        final Board board = FenUtilities.createGameFromFEN("4k3/8/8/8/8/8/8/4R1K1 b - -");
+        assertTrue(board.currentPlayer().isInCheck());
+        assertEquals(BitBoard.squareMask(60), board.getAttackersOf(4, Alliance.WHITE));
+        assertFalse(board.whitePlayer().isInCheck());
+    }
+
+    @Test
+    public void castleNotation() {
+        // 0-0 is the king side, 0-0-0 the queen side, as GameHistoryPanel shows them
+        final Board board = FenUtilities.createGameFromFEN("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        final Set<String> castles = new HashSet<>();
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            if (move.isCastlingMove()) {
+                castles.add(move.getDestinationCoordinate() + " " + move);
+            }
+        }
+        assertEquals(new HashSet<>(Arrays.asList("62 0-0", "58 0-0-0")), castles);
+    }
+
+    @Test
+    public void gameStatus() {
+        assertEquals(GameStatus.IN_PLAY, Board.createStandardBoard().getGameStatus());
+
+        final Board foolsMate = FenUtilities.createGameFromFEN("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq -");
+        assertEquals(GameStatus.CHECKMATE, foolsMate.getGameStatus());
+        assertTrue(foolsMate.currentPlayer().isInCheckMate());
+        assertTrue(foolsMate.getGameStatus().isCheck());
+
+        final Board stalemate = FenUtilities.createGameFromFEN("7k/5Q2/6K1/8/8/8/8/8 b - -");
+        assertEquals(GameStatus.STALEMATE, stalemate.getGameStatus());
+        assertTrue(stalemate.currentPlayer().isInStaleMate());
+        assertTrue(stalemate.getGameStatus().isDraw());
+        assertFalse(stalemate.whitePlayer().isInStaleMate());
+    }
+
+    @Test
+    public void gamePhase() {
+        assertEquals(BoardUtils.MAX_PHASE, BoardUtils.gamePhase(Board.createStandardBoard()));
+        assertFalse(BoardUtils.isEndGame(Board.createStandardBoard()));
+        // queens off and one rook and bishop each: 2 * (2 + 1)
+        final Board rookAndBishop = FenUtilities.createGameFromFEN("2b1k2r/5ppp/8/8/8/8/5PPP/2B1K2R w - - 0 1");
+        assertEquals(6, BoardUtils.gamePhase(rookAndBishop));
+        assertTrue(BoardUtils.isEndGame(rookAndBishop));
+        assertFalse(BoardUtils.isEndGame(FenUtilities.createGameFromFEN("3qk3/5ppp/8/8/8/8/5PPP/3QK3 w - - 0 1")));
+    }
+
+    @Test
+    public void slidingAttacksMatchRayWalk() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            final long occupied = random.nextLong() & random.nextLong(); // about a quarter of the tiles
+            for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                assertEquals(rayWalk(tile, occupied, new int[][]{{1, 1}, {1, -1}, {-1, 1}, {-1, -1}}),
+                        BoardUtils.bishopAttacks(tile, occupied));
+                assertEquals(rayWalk(tile, occupied, new int[][]{{1, 0}, {-1, 0}, {0, 1}, {0, -1}}),
+                        BoardUtils.rookAttacks(tile, occupied));
+            }
+        }
+    }
+
+    private static long rayWalk(final int tile, final long occupied, final int[][] directions) {
+        long attacks = 0L;
+        for (final int[] direction : directions) {
+            int column = tile % 8 + direction[0];
+            int row = tile / 8 + direction[1];
+            while (column >= 0 && column < 8 && row >= 0 && row < 8) {
+                attacks |= BitBoard.squareMask(row * 8 + column);
+                if (BitBoard.squareMask(row * 8 + column) == (occupied & BitBoard.squareMask(row * 8 + column))) {
+                    break;
+                }
+                column += direction[0];
+                row += direction[1];
+            }
+        }
+        return attacks;
+    }
 }
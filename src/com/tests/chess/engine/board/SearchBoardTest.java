@@ -0,0 +1,184 @@
+package com.tests.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.GameStatus;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class SearchBoardTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Test
+    public void perftFromStart() {
+        assertEquals(197281, perft(new SearchBoard(Board.createStandardBoard()), 4));
+    }
+
+    @Test
+    public void perftKiwipete() {
+        assertEquals(97862, perft(new SearchBoard(FenUtilities.createGameFromFEN(KIWIPETE)), 3));
+    }
+
+    @Test
+    public void perftEnPassantAndPromotions() {
+        assertEquals(43238, perft(new SearchBoard(FenUtilities.createGameFromFEN("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -")), 4));
+        assertEquals(9467, perft(new SearchBoard(FenUtilities.createGameFromFEN("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1")), 3));
+    }
+
+    @Test
+    public void legalGeneratorMatchesTryingEveryMove() {
+        final String[] fens = {
+                KIWIPETE,
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                "8/8/8/KPp4r/8/8/8/7k w - c6 0 2", // en passant would uncover the king along the rank
+                "4k3/8/8/8/1b6/8/3P4/4K3 w - - 0 1", // pawn pinned by a bishop
+                "4k3/8/8/8/8/8/3n4/R3K2R w KQ - 0 1" // check from a knight
+        };
+        for (final String fen : fens) {
+            assertEquals(legalPerft(new SearchBoard(FenUtilities.createGameFromFEN(fen)), 3),
+                    perft(new SearchBoard(FenUtilities.createGameFromFEN(fen)), 3));
+        }
+        assertEquals(4085603, legalPerft(new SearchBoard(FenUtilities.createGameFromFEN(KIWIPETE)), 4));
+    }
+
+    @Test
+    public void movesMatchBoardAndKeysFollowEveryMove() {
+        final Board board = FenUtilities.createGameFromFEN(KIWIPETE);
+        final SearchBoard searchBoard = new SearchBoard(board);
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = searchBoard.generateMoves(moves, 0);
+
+        final Set<Integer> expected = new HashSet<>();
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            expected.add(PackedMove.of(move));
+        }
+        final Set<Integer> generated = new HashSet<>();
+        for (int i = 0; i < numMoves; i++) {
+            generated.add(moves[i]);
+        }
+        assertEquals(expected, generated);
+
+        for (int i = 0; i < numMoves; i++) {
+            final MoveTransition transition = board.currentPlayer().makeMove(PackedMove.toMove(board, moves[i]));
+            if (searchBoard.makeMove(moves[i])) {
+                final Board after = transition.getTransitionBoard();
+                assertEquals(after.getZobristKey(), searchBoard.getZobristKey());
+                assertEquals(FenUtilities.createFENFromGame(after), FenUtilities.createFENFromGame(searchBoard.toBoard()));
+                searchBoard.unmakeMove();
+            } else {
+                assertEquals(false, transition.getMoveStatus().isDone());
+            }
+            assertEquals(board.getZobristKey(), searchBoard.getZobristKey());
+        }
+        assertEquals(FenUtilities.createFENFromGame(board), FenUtilities.createFENFromGame(searchBoard.toBoard()));
+    }
+
+    @Test
+    public void packedMovesRoundTrip() {
+        final Board board = FenUtilities.createGameFromFEN(KIWIPETE);
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            final int packed = PackedMove.of(move);
+            assertEquals(move, PackedMove.toMove(board, packed));
+            assertEquals(move, PackedMove.toMove(board, PackedMove.core(packed)));
+            assertEquals(move.getMovedPiece().getPieceType(), PackedMove.movedPiece(packed));
+            if (move.getAttackedPiece() != null) {
+                assertEquals(move.getAttackedPiece().getPieceType(), PackedMove.capturedPiece(packed));
+            }
+        }
+    }
+
+    private static long legalPerft(final SearchBoard board, final int depth) {
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = board.generateLegalMoves(moves, 0);
+        if (depth == 1) {
+            return numMoves;
+        }
+        long nodes = 0;
+        for (int i = 0; i < numMoves; i++) {
+            board.makeLegalMove(moves[i]);
+            nodes += legalPerft(board, depth - 1);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    private static long perft(final SearchBoard board, final int depth) {
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = board.generateMoves(moves, 0);
+        long nodes = 0;
+        for (int i = 0; i < numMoves; i++) {
+            if (board.makeMove(moves[i])) {
+                nodes += depth == 1 ? 1 : perft(board, depth - 1);
+                board.unmakeMove();
+            }
+        }
+        return nodes;
+    }
+
+    @Test
+    public void nullMoveOnlyPassesTheTurn() {
+        // black just played ...d5, so the en passant capture goes away with the null move
+        final Board board = FenUtilities.createGameFromFEN("rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 2");
+        final SearchBoard searchBoard = new SearchBoard(board);
+        searchBoard.makeNullMove();
+        assertEquals(Alliance.BLACK, searchBoard.getSideToMove());
+        assertEquals(FenUtilities.createGameFromFEN("rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 2").getZobristKey(),
+                searchBoard.getZobristKey());
+        searchBoard.unmakeMove();
+        assertEquals(Alliance.WHITE, searchBoard.getSideToMove());
+        assertEquals(board.getZobristKey(), searchBoard.getZobristKey());
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        assertEquals(board.currentPlayer().getLegalMoves().size(), searchBoard.generateMoves(moves, 0));
+    }
+
+    @Test
+    public void staticExchange() {
+        // Qxd5 is met by cxd5, a queen for a pawn
+        assertEquals(-800, exchange("4k3/8/2p5/3p4/8/8/8/3QK3 w - -", 59, 27));
+        // Rxd5 takes a pawn nobody defends
+        assertEquals(100, exchange("4k3/8/8/3p4/8/8/8/3RK3 w - -", 59, 27));
+        // Rxd5 Rxd5 Rxd5, the second rook joins in through the first
+        assertEquals(100, exchange("4k3/3r4/8/3p4/8/8/3R4/3RK3 w - -", 51, 27));
+        // Rxd5 Rxd5 Qxd5, the rook goes first instead and the queen behind it recaptures
+        assertEquals(100, exchange("4k3/3r4/8/3p4/8/8/3R4/3QK3 w - -", 51, 27));
+        // Qxd5 Rxd5 Rxd5, a pawn and a rook for the queen
+        assertEquals(-300, exchange("4k3/3r4/8/3p4/8/8/3Q4/3RK3 w - -", 51, 27));
+    }
+
+    private static int exchange(final String fen, final int from, final int to) {
+        final SearchBoard board = new SearchBoard(FenUtilities.createGameFromFEN(fen));
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = board.generateLegalMoves(moves, 0);
+        for (int i = 0; i < numMoves; i++) {
+            if (PackedMove.from(moves[i]) == from && PackedMove.to(moves[i]) == to) {
+                return board.staticExchange(moves[i]);
+            }
+        }
+        throw new IllegalArgumentException("No move from " + from + " to " + to + " in " + fen);
+    }
+
+    @Test
+    public void gameStatusFollowsMakeAndUnmake() {
+        final Board board = FenUtilities.createGameFromFEN("7k/5Q2/8/6K1/8/8/8/8 w - -");
+        final SearchBoard searchBoard = new SearchBoard(board);
+        assertEquals(GameStatus.IN_PLAY, searchBoard.getGameStatus());
+        searchBoard.makeMove(PackedMove.create(30, 22, PackedMove.QUIET)); // Kg6 stalemates
+        assertEquals(GameStatus.STALEMATE, searchBoard.getGameStatus());
+        searchBoard.unmakeMove();
+        assertEquals(GameStatus.IN_PLAY, searchBoard.getGameStatus());
+        searchBoard.makeMove(PackedMove.create(13, 5, PackedMove.QUIET)); // Qf8 is not yet mate, Kh7 escapes
+        assertEquals(GameStatus.CHECK, searchBoard.getGameStatus());
+    }
+}
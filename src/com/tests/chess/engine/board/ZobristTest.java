@@ -0,0 +1,56 @@
+package com.tests.chess.engine.board;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Zobrist;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class ZobristTest {
+
+    @Test
+    public void transpositionsShareKey() {
+        final Board board = Board.createStandardBoard();
+        final Board viaKnights = play(board, "g1", "f3", "g8", "f6", "b1", "c3", "b8", "c6");
+        final Board viaOtherOrder = play(board, "b1", "c3", "b8", "c6", "g1", "f3", "g8", "f6");
+        assertEquals(viaKnights.getZobristKey(), viaOtherOrder.getZobristKey());
+        assertEquals(Zobrist.calculateKey(viaKnights), viaKnights.getZobristKey());
+    }
+
+    @Test
+    public void knightsBackHomeMatchStart() {
+        final Board board = Board.createStandardBoard();
+        final Board back = play(board, "g1", "f3", "g8", "f6", "f3", "g1", "f6", "g8");
+        assertEquals(board.getZobristKey(), back.getZobristKey());
+    }
+
+    @Test
+    public void castlingRightsAndEnPassantChangeKey() {
+        final Board withRights = FenUtilities.createGameFromFEN("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        final Board withoutRights = FenUtilities.createGameFromFEN("r3k2r/8/8/8/8/8/8/R3K2R w Kkq - 0 1");
+        assertNotEquals(withRights.getZobristKey(), withoutRights.getZobristKey());
+
+        final Board kingMovedAndBack = play(withRights, "e1", "f1", "e8", "f8", "f1", "e1", "f8", "e8");
+        assertEquals(FenUtilities.createGameFromFEN("r3k2r/8/8/8/8/8/8/R3K2R w - - 0 1").getZobristKey(),
+                kingMovedAndBack.getZobristKey());
+
+        final Board afterJump = play(Board.createStandardBoard(), "e2", "e4");
+        assertEquals(FenUtilities.createGameFromFEN("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1").getZobristKey(),
+                afterJump.getZobristKey());
+    }
+
+    private static Board play(final Board board, final String... squares) {
+        Board current = board;
+        for (int i = 0; i < squares.length; i += 2) {
+            final Move move = Move.MoveFactory.createMove(current,
+                    BoardUtils.getCoordinateAtPosition(squares[i]),
+                    BoardUtils.getCoordinateAtPosition(squares[i + 1]));
+            current = current.currentPlayer().makeMove(move).getTransitionBoard();
+        }
+        return current;
+    }
+}
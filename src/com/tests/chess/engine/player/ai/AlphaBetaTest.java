@@ -0,0 +1,72 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.HeuristicMoveOrdering;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.PieceSquareEvaluator;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AlphaBetaTest {
+
+    @Test
+    public void sameMoveAsMiniMaxFromStart() {
+        assertSameMoveWithFewerNodes(Board.createStandardBoard(), 3);
+    }
+
+    @Test
+    public void sameMoveAsMiniMaxForBlack() {
+        assertSameMoveWithFewerNodes(FenUtilities.createGameFromFEN("r1bqkbnr/pppp1ppp/2n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3"), 3);
+    }
+
+    @Test
+    public void sameMoveAsMiniMaxInEndgame() {
+        assertSameMoveWithFewerNodes(FenUtilities.createGameFromFEN("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -"), 4);
+    }
+
+    @Test
+    public void findsMateInOne() {
+        final Board board = FenUtilities.createGameFromFEN("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        final Move move = new AlphaBeta(2).execute(board);
+        assertEquals(0, move.getDestinationCoordinate()); // Ra8#
+    }
+
+    @Test
+    public void quiescenceSeesTheRecapture() {
+        // at depth 1 Qxd5 wins a pawn, one ply further cxd5 wins the queen
+        final Board board = FenUtilities.createGameFromFEN("4k3/8/2p5/3p4/8/8/8/3QK3 w - -");
+        assertEquals(27, new AlphaBeta(1).execute(board).getDestinationCoordinate());
+        final AlphaBeta quiescence = new AlphaBeta(new StandardBoardEvaluator(), 1, null, new HeuristicMoveOrdering(),
+                EnumSet.of(AlphaBeta.Feature.QUIESCENCE));
+        assertNotEquals(27, quiescence.execute(board).getDestinationCoordinate());
+    }
+
+    @Test
+    public void selectiveSearchKeepsTheTacticsWithFewerNodes() {
+        final Board board = FenUtilities.createGameFromFEN("6k1/5ppp/8/8/8/8/5PPP/R5K1 w - - 0 1");
+        final AlphaBeta fullWidth = new AlphaBeta(new PieceSquareEvaluator(), 5, new TranspositionTable(1),
+                new HeuristicMoveOrdering(), AlphaBeta.DEFAULT_FEATURES);
+        final AlphaBeta selective = new AlphaBeta(new PieceSquareEvaluator(), 5, new TranspositionTable(1),
+                new HeuristicMoveOrdering(), AlphaBeta.SELECTIVE_FEATURES);
+        assertEquals(0, fullWidth.execute(board).getDestinationCoordinate()); // Ra8#
+        assertEquals(0, selective.execute(board).getDestinationCoordinate());
+        assertTrue(selective.getNodesSearched() < fullWidth.getNodesSearched());
+    }
+
+    private static void assertSameMoveWithFewerNodes(final Board board, final int depth) {
+        final MiniMax miniMax = new MiniMax(depth);
+        final AlphaBeta alphaBeta = new AlphaBeta(depth);
+        assertEquals(miniMax.execute(board), alphaBeta.execute(board));
+        assertTrue(alphaBeta.getNodesSearched() < miniMax.getNodesSearched());
+    }
+}
@@ -0,0 +1,46 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.IterativeDeepening;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class IterativeDeepeningTest {
+
+    @Test
+    public void searchesUpToMaxDepth() {
+        final IterativeDeepening search = new IterativeDeepening(SearchLimits.depth(3));
+        assertNotNull(search.execute(Board.createStandardBoard()));
+        assertEquals(3, search.getCompletedDepth());
+    }
+
+    @Test
+    public void stopsOnNodeBudget() {
+        final IterativeDeepening search = new IterativeDeepening(new SearchLimits(10, 2000, SearchLimits.NO_TIME_LIMIT));
+        assertNotNull(search.execute(Board.createStandardBoard()));
+        assertTrue(search.getCompletedDepth() >= 1 && search.getCompletedDepth() < 10);
+        assertTrue(search.getNodesSearched() <= 2000 + 100); // depth 1 is never cut short
+    }
+
+    @Test
+    public void stopsOnTimeBudget() {
+        final long startTime = System.currentTimeMillis();
+        final IterativeDeepening search = new IterativeDeepening(new SearchLimits(20, SearchLimits.NO_NODE_LIMIT, 300));
+        assertNotNull(search.execute(Board.createStandardBoard()));
+        assertTrue(System.currentTimeMillis() - startTime < 1000);
+        assertTrue(search.getCompletedDepth() < 20);
+    }
+
+    @Test
+    public void findsMateInOne() {
+        final Board board = FenUtilities.createGameFromFEN("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        final Move move = new IterativeDeepening(SearchLimits.depth(3)).execute(board);
+        assertEquals(0, move.getDestinationCoordinate()); // Ra8#
+    }
+}
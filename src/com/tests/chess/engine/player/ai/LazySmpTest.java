@@ -0,0 +1,53 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.LazySmp;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class LazySmpTest {
+
+    @Test
+    public void searchesUpToMaxDepthWithHelpers() {
+        final LazySmp search = new LazySmp(SearchLimits.depth(3), 4);
+        assertNotNull(search.execute(Board.createStandardBoard()));
+        assertEquals(3, search.getCompletedDepth());
+    }
+
+    @Test
+    public void helpersShareTheNodeBudget() {
+        final LazySmp search = new LazySmp(new SearchLimits(10, 2000, SearchLimits.NO_TIME_LIMIT), 4);
+        assertNotNull(search.execute(Board.createStandardBoard()));
+        assertTrue(search.getCompletedDepth() >= 1 && search.getCompletedDepth() < 10);
+        // depth 1 of the main search is never cut short, and each thread reports every 64 nodes
+        assertTrue(search.getNodesSearched() <= 2000 + 100 + 4 * 64);
+    }
+
+    @Test
+    public void searchesReuseTheHelperThreads() {
+        for (int i = 0; i < 3; i++) {
+            new LazySmp(SearchLimits.depth(2), 4).execute(Board.createStandardBoard());
+        }
+        int helperThreads = 0;
+        for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("LazySmp helper")) {
+                assertTrue(thread.isDaemon());
+                helperThreads++;
+            }
+        }
+        assertTrue(helperThreads <= 3); // no search in these tests runs more than 3 helpers at a time
+    }
+
+    @Test
+    public void findsMateInOneWithHelpers() {
+        final Board board = FenUtilities.createGameFromFEN("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        final Move move = new LazySmp(SearchLimits.depth(3), 3).execute(board);
+        assertEquals(0, move.getDestinationCoordinate()); // Ra8#
+    }
+}
@@ -0,0 +1,55 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.HeuristicMoveOrdering;
+import com.chess.engine.player.ai.MoveOrdering;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MoveOrderingTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -";
+
+    @Test
+    public void hashMoveThenCapturesByVictimAndAttacker() {
+        final SearchBoard board = new SearchBoard(FenUtilities.createGameFromFEN(KIWIPETE));
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = board.generateLegalMoves(moves, 0);
+        final int hashMove = PackedMove.core(moves[numMoves - 1]);
+
+        new HeuristicMoveOrdering().orderMoves(board, moves, numMoves, hashMove);
+
+        assertEquals(hashMove, PackedMove.core(moves[0]));
+        int previousGain = Integer.MAX_VALUE;
+        int previousAttacker = 0;
+        for (int i = 1; i < numMoves && PackedMove.isCapture(moves[i]); i++) {
+            final int gain = PackedMove.capturedPiece(moves[i]).getPieceValue();
+            final int attacker = PackedMove.movedPiece(moves[i]).getPieceValue();
+            assertTrue(gain < previousGain || (gain == previousGain && attacker >= previousAttacker));
+            previousGain = gain;
+            previousAttacker = attacker;
+        }
+        // Bxa6 and Qxf6 win the most, a minor piece each, and the bishop is the cheaper attacker
+        assertEquals(PieceType.BISHOP, PackedMove.capturedPiece(moves[1]));
+    }
+
+    @Test
+    public void orderingKeepsTheMoveAndSavesNodes() {
+        final Board board = FenUtilities.createGameFromFEN(KIWIPETE);
+        final AlphaBeta unordered = new AlphaBeta(new StandardBoardEvaluator(), 4, new TranspositionTable(1),
+                MoveOrdering.GENERATION_ORDER);
+        final AlphaBeta ordered = new AlphaBeta(new StandardBoardEvaluator(), 4, new TranspositionTable(1),
+                new HeuristicMoveOrdering());
+        assertEquals(unordered.execute(board), ordered.execute(board));
+        assertTrue(ordered.getNodesSearched() * 2 < unordered.getNodesSearched());
+    }
+}
@@ -0,0 +1,35 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.ParallelAlphaBeta;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelAlphaBetaTest {
+
+    @Test
+    public void sameMoveAsAlphaBetaFromStart() {
+        assertSameMoveForEveryThreadCount(Board.createStandardBoard(), 3);
+    }
+
+    @Test
+    public void sameMoveAsAlphaBetaInMiddlegame() {
+        assertSameMoveForEveryThreadCount(FenUtilities.createGameFromFEN("r1bq1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP3PPP/R2QKB1R w KQ - 0 8"), 3);
+    }
+
+    @Test
+    public void sameMoveAsAlphaBetaInEndgame() {
+        assertSameMoveForEveryThreadCount(FenUtilities.createGameFromFEN("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -"), 4);
+    }
+
+    private static void assertSameMoveForEveryThreadCount(final Board board, final int depth) {
+        final AlphaBeta alphaBeta = new AlphaBeta(depth);
+        final Object expected = alphaBeta.execute(board);
+        for (int threads = 1; threads <= 8; threads *= 2) {
+            assertEquals(expected, new ParallelAlphaBeta(depth, threads).execute(board));
+        }
+    }
+}
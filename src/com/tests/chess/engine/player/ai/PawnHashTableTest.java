@@ -0,0 +1,82 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.HeuristicMoveOrdering;
+import com.chess.engine.player.ai.PawnHashTable;
+import com.chess.engine.player.ai.PieceSquareEvaluator;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PawnHashTableTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -";
+
+    @Test
+    public void storedEntryReadsBack() {
+        final PawnHashTable table = new PawnHashTable(1);
+        final long entry = PawnHashTable.pack(-35, 120, 0b1000_0001, 0b0001_0000);
+        assertEquals(-35, PawnHashTable.middlegameScore(entry));
+        assertEquals(120, PawnHashTable.endgameScore(entry));
+        assertEquals(0b1000_0001, PawnHashTable.whitePassedFiles(entry));
+        assertEquals(0b0001_0000, PawnHashTable.blackPassedFiles(entry));
+
+        assertEquals(PawnHashTable.NO_ENTRY, table.probe(0L)); // no pawns at all is a key like any other
+        table.store(0L, PawnHashTable.pack(0, 0, 0, 0));
+        assertNotEquals(PawnHashTable.NO_ENTRY, table.probe(0L));
+        table.store(0x1234_5678_9ABC_DEF0L, entry);
+        assertEquals(entry, table.probe(0x1234_5678_9ABC_DEF0L));
+        assertEquals(3, table.getProbes());
+        assertEquals(2, table.getHits());
+    }
+
+    @Test
+    public void pawnKeyFollowsOnlyThePawns() {
+        final SearchBoard board = new SearchBoard(FenUtilities.createGameFromFEN(KIWIPETE));
+        final long pawnKey = board.getPawnKey();
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = board.generateLegalMoves(moves, 0);
+        for (int i = 0; i < numMoves; i++) {
+            final int move = moves[i];
+            final boolean touchesPawns = PackedMove.movedPiece(move) == PieceType.PAWN ||
+                    (PackedMove.isCapture(move) && PackedMove.capturedPiece(move) == PieceType.PAWN);
+            board.makeLegalMove(move);
+            assertEquals(new SearchBoard(board.toBoard()).getPawnKey(), board.getPawnKey());
+            assertEquals(touchesPawns, pawnKey != board.getPawnKey());
+            board.unmakeMove();
+            assertEquals(pawnKey, board.getPawnKey());
+        }
+    }
+
+    @Test
+    public void searchMostlyHitsTheTable() {
+        final PieceSquareEvaluator evaluator = new PieceSquareEvaluator(new PawnHashTable(1));
+        new AlphaBeta(evaluator, 4, null, new HeuristicMoveOrdering(), AlphaBeta.DEFAULT_FEATURES)
+                .execute(FenUtilities.createGameFromFEN(KIWIPETE));
+        assertTrue(evaluator.getPawnHashTable().getHitRate() > 0.9);
+    }
+
+    @Test
+    public void pawnStructureTerms() {
+        final PieceSquareEvaluator evaluator = new PieceSquareEvaluator();
+        // d5 is passed while the black pawn stays on h7, not once it stands on c7
+        assertTrue(score(evaluator, "4k3/7p/8/3P4/8/8/8/4K3 w - - 0 1") >
+                score(evaluator, "4k3/2p5/8/3P4/8/8/8/4K3 w - - 0 1"));
+        // two pawns side by side against the same two doubled and isolated on one file
+        assertTrue(score(evaluator, "4k3/8/8/8/8/8/3PP3/4K3 w - - 0 1") >
+                score(evaluator, "4k3/8/8/8/8/3P4/3P4/4K3 w - - 0 1"));
+    }
+
+    private static int score(final PieceSquareEvaluator evaluator, final String fen) {
+        final Board board = FenUtilities.createGameFromFEN(fen);
+        assertEquals(evaluator.evaluate(board, 0), evaluator.evaluate(new SearchBoard(board), 0));
+        return evaluator.evaluate(board, 0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.SearchBoard;
+import com.chess.engine.player.ai.PieceSquareEvaluator;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PieceSquareEvaluatorTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -";
+
+    private final PieceSquareEvaluator evaluator = new PieceSquareEvaluator();
+
+    @Test
+    public void startingPositionIsEven() {
+        assertEquals(0, this.evaluator.evaluate(Board.createStandardBoard(), 0));
+        assertEquals(0, this.evaluator.evaluate(new SearchBoard(Board.createStandardBoard()), 0));
+    }
+
+    @Test
+    public void incrementalScoreMatchesCountingPieces() {
+        // captures, castles, en passant and promotions on the way, and every score is checked after unmake too
+        assertIncrementalScores(new SearchBoard(FenUtilities.createGameFromFEN(KIWIPETE)), 3);
+        assertIncrementalScores(new SearchBoard(FenUtilities.createGameFromFEN(
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1")), 3);
+    }
+
+    @Test
+    public void checkmateCountsForTheWinner() {
+        final Board board = FenUtilities.createGameFromFEN("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1");
+        assertEquals(this.evaluator.evaluate(board, 0), this.evaluator.evaluate(new SearchBoard(board), 0));
+        assertEquals(10000, this.evaluator.evaluate(board, 0) - this.evaluator.evaluate(
+                FenUtilities.createGameFromFEN("R5k1/5ppp/8/8/8/8/8/6K1 w - - 0 1"), 0));
+    }
+
+    @Test
+    public void kingTablesFollowThePhase() {
+        // with the queens and rooks on, the king belongs behind its pawns; with pawns only, in the centre
+        assertTrue(score("r2qk2r/8/8/8/8/8/5PPP/R2Q1RK1 w - - 0 1") > score("r2qk2r/8/8/8/8/4K3/5PPP/R2Q1R2 w - - 0 1"));
+        assertTrue(score("4k3/8/8/8/8/8/5PPP/6K1 w - - 0 1") < score("4k3/8/8/8/8/4K3/5PPP/8 w - - 0 1"));
+    }
+
+    private int score(final String fen) {
+        return this.evaluator.evaluate(new SearchBoard(FenUtilities.createGameFromFEN(fen)), 0);
+    }
+
+    private void assertIncrementalScores(final SearchBoard board, final int depth) {
+        assertEquals(this.evaluator.evaluate(board.toBoard(), 0), this.evaluator.evaluate(board, 0));
+        if (depth == 0) {
+            return;
+        }
+        final int[] moves = new int[SearchBoard.MAX_MOVES];
+        final int numMoves = board.generateLegalMoves(moves, 0);
+        for (int i = 0; i < numMoves; i++) {
+            board.makeLegalMove(moves[i]);
+            assertIncrementalScores(board, depth - 1);
+            board.unmakeMove();
+        }
+        assertEquals(this.evaluator.evaluate(board.toBoard(), 0), this.evaluator.evaluate(board, 0));
+    }
+}
@@ -0,0 +1,53 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.HeuristicMoveOrdering;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.PieceSquareEvaluator;
+import com.chess.engine.player.ai.PrincipalVariationSearch;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PrincipalVariationSearchTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -";
+
+    @Test
+    public void nullWindowsKeepTheScores() {
+        // the null windows only change what is searched, so the move is still MiniMax's
+        final Board board = FenUtilities.createGameFromFEN("r1bqkbnr/pppp1ppp/2n5/1B2p3/4P3/5N2/PPPP1PPP/RNBQK2R b KQkq - 3 3");
+        final AlphaBeta principalVariation = new AlphaBeta(new StandardBoardEvaluator(), 3, null, new HeuristicMoveOrdering(),
+                EnumSet.of(AlphaBeta.Feature.PRINCIPAL_VARIATION));
+        assertEquals(new MiniMax(3).execute(board), principalVariation.execute(board));
+    }
+
+    @Test
+    public void fewerNodesThanAlphaBetaToTheSameDepth() {
+        final Board board = FenUtilities.createGameFromFEN(KIWIPETE);
+        final AlphaBeta alphaBeta = new AlphaBeta(new PieceSquareEvaluator(), 5, new TranspositionTable(4),
+                new HeuristicMoveOrdering(), AlphaBeta.DEFAULT_FEATURES);
+        final PrincipalVariationSearch search = new PrincipalVariationSearch(new PieceSquareEvaluator(),
+                SearchLimits.depth(5), new TranspositionTable(4));
+        alphaBeta.execute(board);
+        search.execute(board);
+        assertEquals(5, search.getCompletedDepth());
+        assertTrue(search.getNodesSearched() < alphaBeta.getNodesSearched());
+    }
+
+    @Test
+    public void findsMateInOne() {
+        final Board board = FenUtilities.createGameFromFEN("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        final Move move = new PrincipalVariationSearch(SearchLimits.depth(3)).execute(board);
+        assertEquals(0, move.getDestinationCoordinate()); // Ra8#
+    }
+}
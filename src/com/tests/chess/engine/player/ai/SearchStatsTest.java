@@ -0,0 +1,99 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.IterativeDeepening;
+import com.chess.engine.player.ai.LazySmp;
+import com.chess.engine.player.ai.MiniMax;
+import com.chess.engine.player.ai.PieceSquareEvaluator;
+import com.chess.engine.player.ai.SearchLimits;
+import com.chess.engine.player.ai.SearchStats;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SearchStatsTest {
+
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -";
+
+    @Test
+    public void iterativeDeepeningReportsEveryIteration() {
+        final Board board = FenUtilities.createGameFromFEN(KIWIPETE);
+        final IterativeDeepening search = new IterativeDeepening(new PieceSquareEvaluator(), SearchLimits.depth(4),
+                new TranspositionTable(4));
+        assertNull(search.getSearchStats());
+        final Move bestMove = search.execute(board);
+        final SearchStats stats = search.getSearchStats();
+
+        assertEquals(bestMove, stats.getBestMove());
+        assertEquals(4, stats.getDepth());
+        assertTrue(stats.getSelectiveDepth() > 4); // quiescence goes on past the horizon
+        assertEquals(search.getNodesSearched(), stats.getNodesSearched());
+        assertEquals(4, stats.getIterationMillis().size());
+        assertTrue(stats.getTranspositionHitRate() > 0 && stats.getTranspositionHitRate() <= 1);
+        assertTrue(stats.getBetaCutoffs() > 0);
+        assertTrue(stats.getFirstMoveCutoffs() <= stats.getBetaCutoffs());
+        assertTrue(stats.getFirstMoveCutoffRate() > 0.5); // ordering puts the refutation first most of the time
+
+        // the principal variation is a legal line that starts with the move played
+        final int length = stats.getPrincipalVariation().size();
+        assertTrue(length > 1 && length <= 4);
+        assertEquals(bestMove, stats.getPrincipalVariation().get(0));
+        Board current = board;
+        for (final Move move : stats.getPrincipalVariation()) {
+            final MoveTransition transition = current.currentPlayer().makeMove(move);
+            assertTrue(transition.getMoveStatus().isDone());
+            current = transition.getTransitionBoard();
+        }
+    }
+
+    @Test
+    public void fullWidthSearchesStopAtTheirDepth() {
+        final Board board = FenUtilities.createGameFromFEN(KIWIPETE);
+        final MiniMax miniMax = new MiniMax(2);
+        miniMax.execute(board);
+        final SearchStats miniMaxStats = miniMax.getSearchStats();
+        assertEquals(2, miniMaxStats.getSelectiveDepth());
+        assertEquals(0, miniMaxStats.getBetaCutoffs());
+        assertEquals(0, miniMaxStats.getTranspositionProbes());
+        assertEquals(1, miniMaxStats.getPrincipalVariation().size()); // nothing to read the rest back from
+
+        final AlphaBeta alphaBeta = new AlphaBeta(2);
+        alphaBeta.execute(board);
+        final SearchStats alphaBetaStats = alphaBeta.getSearchStats();
+        assertEquals(2, alphaBetaStats.getSelectiveDepth());
+        assertEquals(miniMaxStats.getBestMove(), alphaBetaStats.getBestMove());
+        assertTrue(alphaBetaStats.getBetaCutoffs() > 0);
+        assertTrue(alphaBetaStats.getNodesSearched() < miniMaxStats.getNodesSearched());
+    }
+
+    @Test
+    public void selectiveDepthIsWhatWasReached() {
+        // black is mated, so no line goes anywhere near the nominal depth
+        final Board board = FenUtilities.createGameFromFEN("R5k1/5ppp/8/8/8/8/8/6K1 b - - 0 1");
+        final MiniMax miniMax = new MiniMax(3);
+        assertNull(miniMax.execute(board));
+        assertEquals(0, miniMax.getSearchStats().getSelectiveDepth());
+        assertTrue(miniMax.getSearchStats().getPrincipalVariation().isEmpty());
+    }
+
+    @Test
+    public void lazySmpCountsEveryThread() {
+        final TranspositionTable table = new TranspositionTable(4);
+        final LazySmp search = new LazySmp(new StandardBoardEvaluator(), SearchLimits.depth(4), table, 3);
+        search.execute(FenUtilities.createGameFromFEN(KIWIPETE));
+        final SearchStats stats = search.getSearchStats();
+        assertEquals(search.getNodesSearched(), stats.getNodesSearched());
+        assertEquals(table.getProbes(), stats.getTranspositionProbes()); // the table's own count, helpers included
+        assertEquals(table.getHitRate(), stats.getTranspositionHitRate(), 1e-9);
+        assertTrue(stats.getBetaCutoffs() > 0);
+        assertTrue(stats.getSelectiveDepth() > 4);
+    }
+}
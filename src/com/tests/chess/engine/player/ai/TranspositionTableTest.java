@@ -0,0 +1,51 @@
+package com.tests.chess.engine.player.ai;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.player.ai.AlphaBeta;
+import com.chess.engine.player.ai.StandardBoardEvaluator;
+import com.chess.engine.player.ai.TranspositionTable;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TranspositionTableTest {
+
+    @Test
+    public void storedEntryReadsBack() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.newSearch();
+        table.store(0x1234_5678_9ABC_DEF0L, 5, -321, TranspositionTable.LOWER_BOUND, 77);
+        final long entry = table.probe(0x1234_5678_9ABC_DEF0L);
+        assertEquals(5, TranspositionTable.depth(entry));
+        assertEquals(-321, TranspositionTable.score(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.bound(entry));
+        assertEquals(77, TranspositionTable.move(entry));
+        assertEquals(TranspositionTable.NO_ENTRY, table.probe(0x0FED_CBA9_8765_4321L));
+    }
+
+    @Test
+    public void deeperEntryIsKeptWithinOneSearch() {
+        final TranspositionTable table = new TranspositionTable(1);
+        table.newSearch();
+        table.store(42L, 6, 100, TranspositionTable.EXACT, TranspositionTable.NO_MOVE);
+        table.store(42L, 2, 5, TranspositionTable.EXACT, TranspositionTable.NO_MOVE);
+        assertEquals(6, TranspositionTable.depth(table.probe(42L)));
+        table.newSearch();
+        table.store(42L, 2, 5, TranspositionTable.EXACT, TranspositionTable.NO_MOVE);
+        assertEquals(2, TranspositionTable.depth(table.probe(42L)));
+    }
+
+    @Test
+    public void secondSearchReusesFirst() {
+        final TranspositionTable table = new TranspositionTable(4);
+        final Board board = FenUtilities.createGameFromFEN("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        final AlphaBeta first = new AlphaBeta(new StandardBoardEvaluator(), 3, table);
+        assertEquals(0, first.execute(board).getDestinationCoordinate()); // Ra8#
+        final AlphaBeta second = new AlphaBeta(new StandardBoardEvaluator(), 3, table);
+        assertEquals(0, second.execute(board).getDestinationCoordinate());
+        assertTrue(table.getHits() > 0);
+        assertTrue(second.getNodesSearched() < first.getNodesSearched());
+    }
+}
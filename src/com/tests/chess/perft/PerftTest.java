@@ -0,0 +1,61 @@
+package com.tests.chess.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.perft.Perft;
+import com.chess.perft.PerftResult;
+import com.chess.pgn.FenUtilities;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PerftTest {
+
+    @Test
+    public void initialPosition() {
+        final Board board = Board.createStandardBoard();
+        final Perft perft = new Perft();
+        assertEquals(20, perft.perft(board, 1));
+        assertEquals(400, perft.perft(board, 2));
+        assertEquals(8902, perft.perft(board, 3));
+        assertEquals(197281, perft.perft(board, 4));
+    }
+
+    @Test
+    public void kiwipete() {
+        final Board board = FenUtilities.createGameFromFEN("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq -");
+        final Perft perft = new Perft();
+        assertEquals(48, perft.perft(board, 1));
+        assertEquals(2039, perft.perft(board, 2));
+        assertEquals(97862, perft.perft(board, 3));
+    }
+
+    @Test
+    public void enPassantAndPins() {
+        final Board board = FenUtilities.createGameFromFEN("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - -");
+        final Perft perft = new Perft();
+        assertEquals(14, perft.perft(board, 1));
+        assertEquals(191, perft.perft(board, 2));
+        assertEquals(2812, perft.perft(board, 3));
+        assertEquals(43238, perft.perft(board, 4));
+    }
+
+    @Test
+    public void promotionsAndCastles() {
+        final Board board = FenUtilities.createGameFromFEN("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1");
+        final Perft perft = new Perft();
+        assertEquals(6, perft.perft(board, 1));
+        assertEquals(264, perft.perft(board, 2));
+        assertEquals(9467, perft.perft(board, 3));
+    }
+
+    @Test
+    public void divideMatchesAcrossModes() {
+        final Board board = FenUtilities.createGameFromFEN("rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8");
+        final PerftResult sequential = new Perft().divide(board, 3);
+        final PerftResult parallel = new Perft(4, true).divide(board, 3);
+        assertEquals(62379, sequential.getNodes());
+        assertEquals(44, sequential.getDivide().size());
+        assertEquals(sequential.getDivide(), parallel.getDivide());
+        assertEquals(sequential.getDivide(), Perft.packedDivide(board, 3).getDivide());
+    }
+}